@@ -0,0 +1,149 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An optional annotation processor that generates reflection-free injection adapters for injectable classes and
+ * "@Provides" method indexes for modules. The DI container discovers generated classes by name and falls back to
+ * reflection for anything the processor couldn't handle (private members, type variables, inaccessible types, etc.)
+ *
+ * @since 3.0
+ */
+@SupportedAnnotationTypes("*")
+public class InjectionAdapterProcessor extends AbstractProcessor {
+
+    private SourceSupport support;
+    private TypeMirror moduleType;
+    private Set<String> generated;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.support = new SourceSupport(processingEnv);
+
+        TypeElement module = processingEnv.getElementUtils().getTypeElement(SourceSupport.MODULE);
+        this.moduleType = module != null ? processingEnv.getTypeUtils().erasure(module.asType()) : null;
+        this.generated = new HashSet<>();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type);
+        }
+
+        // never claim annotations, other processors may be interested in them
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+
+        // generated classes are not injectable by themselves
+        if (type.getSimpleName().toString().endsWith(InjectionAdapterWriter.SUFFIX)
+                || type.getSimpleName().toString().endsWith(ProvidesIndexWriter.SUFFIX)) {
+            return;
+        }
+
+        if (type.getKind().isClass()) {
+            if (isModule(type)) {
+                generateProvidesIndex(type);
+            }
+
+            generateInjectionAdapter(type);
+        }
+
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nested);
+        }
+    }
+
+    private boolean isModule(TypeElement type) {
+        return moduleType != null && support.getTypes().isAssignable(support.getTypes().erasure(type.asType()), moduleType);
+    }
+
+    private void generateInjectionAdapter(TypeElement type) {
+        InjectionAdapterWriter writer = new InjectionAdapterWriter(support, type);
+
+        boolean hasInjectionPoints;
+        try {
+            hasInjectionPoints = writer.analyze();
+        } catch (UnsupportedElementException e) {
+            // will use reflection
+            return;
+        }
+
+        if (hasInjectionPoints) {
+            writeSource(writer.getQualifiedName(), writer.write(), type);
+        }
+    }
+
+    private void generateProvidesIndex(TypeElement module) {
+        ProvidesIndexWriter writer = new ProvidesIndexWriter(support, module);
+
+        try {
+            writer.analyze();
+        } catch (UnsupportedElementException e) {
+            // will use reflection
+            return;
+        }
+
+        writeSource(writer.getQualifiedName(), writer.write(), module);
+    }
+
+    private void writeSource(String name, String source, Element origin) {
+
+        if (!generated.add(name)) {
+            return;
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, origin);
+            try (Writer out = file.openWriter()) {
+                out.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Error generating " + name + ": " + e.getMessage(),
+                    origin);
+        }
+    }
+}
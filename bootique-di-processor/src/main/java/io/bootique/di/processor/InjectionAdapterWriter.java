@@ -0,0 +1,222 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates source code of an {@code io.bootique.di.spi.InjectionAdapter} for a single class. The adapter mirrors
+ * what the reflection-based providers do: it calls the same constructor and sets the same fields.
+ *
+ * @since 3.0
+ */
+class InjectionAdapterWriter {
+
+    static final String SUFFIX = "_BQInjectionAdapter";
+
+    private final SourceSupport support;
+    private final TypeElement type;
+    private final String packageName;
+    private final String typeName;
+
+    private final List<String> keyFields;
+    private final List<String> constructorArguments;
+    private final List<String> fieldAssignments;
+
+    InjectionAdapterWriter(SourceSupport support, TypeElement type) {
+        this.support = support;
+        this.type = type;
+        this.packageName = support.packageName(type);
+        this.typeName = type.getQualifiedName().toString();
+        this.keyFields = new ArrayList<>();
+        this.constructorArguments = new ArrayList<>();
+        this.fieldAssignments = new ArrayList<>();
+    }
+
+    String getSimpleName() {
+        return support.generatedSimpleName(type, SUFFIX);
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? getSimpleName() : packageName + "." + getSimpleName();
+    }
+
+    /**
+     * Collects injection points of the class. Returns false if the class has nothing to inject, so there's no
+     * reason to generate an adapter for it.
+     *
+     * @throws UnsupportedElementException if the class can't be handled by a generated adapter.
+     */
+    boolean analyze() {
+
+        if (!support.isInstantiable(type, packageName)) {
+            throw new UnsupportedElementException("Can't instantiate " + type);
+        }
+
+        ExecutableElement constructor = findConstructor();
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)
+                || !support.isAccessible(constructor, packageName)) {
+            throw new UnsupportedElementException("Constructor is not accessible: " + constructor);
+        }
+
+        for (TypeMirror thrown : constructor.getThrownTypes()) {
+            if (!support.isUncheckedThrowable(thrown)) {
+                throw new UnsupportedElementException("Constructor throws checked exception: " + constructor);
+            }
+        }
+
+        for (VariableElement parameter : constructor.getParameters()) {
+            constructorArguments.add(injectionExpression(parameter));
+        }
+
+        // superclass fields are injected first
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement next = type;
+        while (next != null && !next.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.add(0, next);
+            TypeMirror superclass = next.getSuperclass();
+            next = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+
+        for (TypeElement declaringType : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+                if (support.hasInjectAnnotation(field)) {
+                    fieldAssignments.add(fieldAssignment(declaringType, field));
+                }
+            }
+        }
+
+        return !constructorArguments.isEmpty() || !fieldAssignments.isEmpty();
+    }
+
+    String write() {
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+
+        out.append("@javax.annotation.processing.Generated(\"")
+                .append(InjectionAdapterProcessor.class.getName()).append("\")\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append("public final class ").append(getSimpleName())
+                .append(" implements io.bootique.di.spi.InjectionAdapter<").append(typeName).append("> {\n\n");
+
+        for (String keyField : keyFields) {
+            out.append("    ").append(keyField).append('\n');
+        }
+        if (!keyFields.isEmpty()) {
+            out.append('\n');
+        }
+
+        out.append("    @Override\n");
+        out.append("    public ").append(typeName).append(" newInstance(io.bootique.di.Injector injector) {\n");
+        out.append("        return new ").append(typeName).append("(");
+        for (int i = 0; i < constructorArguments.size(); i++) {
+            out.append(i > 0 ? ",\n                " : "\n                ").append(constructorArguments.get(i));
+        }
+        out.append(");\n");
+        out.append("    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public void injectMembers(").append(typeName).append(" object, io.bootique.di.Injector injector) {\n");
+        for (String assignment : fieldAssignments) {
+            out.append("        ").append(assignment).append('\n');
+        }
+        out.append("    }\n");
+        out.append("}\n");
+
+        return out.toString();
+    }
+
+    // same rules as in ConstructorInjectingProvider: the longest @Inject constructor, or a default one
+    private ExecutableElement findConstructor() {
+
+        ExecutableElement lastMatch = null;
+        int lastSize = -1;
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            int size = constructor.getParameters().size();
+            if (size <= lastSize) {
+                continue;
+            }
+
+            if (size == 0 || support.hasInjectAnnotation(constructor)) {
+                lastMatch = constructor;
+                lastSize = size;
+            }
+        }
+
+        if (lastMatch == null) {
+            throw new UnsupportedElementException("No injectable constructor in " + type);
+        }
+
+        return lastMatch;
+    }
+
+    private String fieldAssignment(TypeElement declaringType, VariableElement field) {
+
+        if (field.getModifiers().contains(Modifier.FINAL)
+                || field.getModifiers().contains(Modifier.STATIC)
+                || !support.isAccessible(field, packageName)
+                || !support.isAccessible(declaringType, packageName)) {
+            throw new UnsupportedElementException("Field is not assignable: " + field);
+        }
+
+        String target = declaringType.equals(type)
+                ? "object"
+                : "((" + support.render(support.getTypes().erasure(declaringType.asType()), packageName) + ") object)";
+
+        return target + "." + field.getSimpleName() + " = " + injectionExpression(field) + ";";
+    }
+
+    private String injectionExpression(VariableElement element) {
+
+        TypeMirror type = element.asType();
+        AnnotationMirror qualifier = support.findQualifier(element);
+
+        boolean provider = support.isProvider(type);
+        TypeMirror keyType = provider ? support.providedType(type) : type;
+
+        String keyField = keyField(keyType, qualifier);
+        return provider
+                ? "injector.getProvider(" + keyField + ")"
+                : "injector.getInstance(" + keyField + ")";
+    }
+
+    private String keyField(TypeMirror keyType, AnnotationMirror qualifier) {
+        String name = "KEY" + keyFields.size();
+        keyFields.add("private static final " + SourceSupport.KEY + "<" + support.renderBoxed(keyType, packageName) + "> "
+                + name + " = " + support.keyExpression(keyType, qualifier, packageName) + ";");
+        return name;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates source code of an {@code io.bootique.di.spi.ProvidesIndex} for a single module class, describing its
+ * declared "@Provides" methods and invoking them without reflection.
+ *
+ * @since 3.0
+ */
+class ProvidesIndexWriter {
+
+    static final String SUFFIX = "_BQProvidesIndex";
+
+    private static final String DESCRIPTOR = "io.bootique.di.spi.ProvidesMethodDescriptor";
+
+    private final SourceSupport support;
+    private final TypeElement module;
+    private final String packageName;
+    private final String moduleName;
+
+    private final List<String> descriptors;
+    private final List<String> invocations;
+
+    ProvidesIndexWriter(SourceSupport support, TypeElement module) {
+        this.support = support;
+        this.module = module;
+        this.packageName = support.packageName(module);
+        this.moduleName = module.getQualifiedName().toString();
+        this.descriptors = new ArrayList<>();
+        this.invocations = new ArrayList<>();
+    }
+
+    String getSimpleName() {
+        return support.generatedSimpleName(module, SUFFIX);
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? getSimpleName() : packageName + "." + getSimpleName();
+    }
+
+    /**
+     * Collects provider methods of the module.
+     *
+     * @throws UnsupportedElementException if the module can't be handled by a generated index.
+     */
+    void analyze() {
+
+        if (module.getModifiers().contains(Modifier.ABSTRACT)
+                || !module.getTypeParameters().isEmpty()
+                || !support.isAccessible(module, packageName)) {
+            throw new UnsupportedElementException("Unsupported module " + module);
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(module.getEnclosedElements())) {
+            if (support.hasAnnotation(method, SourceSupport.PROVIDES)) {
+                analyzeMethod(method);
+            }
+        }
+    }
+
+    private void analyzeMethod(ExecutableElement method) {
+
+        // invalid methods are left to the runtime to report
+        if (method.getModifiers().contains(Modifier.PRIVATE)
+                || !method.getTypeParameters().isEmpty()
+                || method.getReturnType().getKind() == TypeKind.VOID) {
+            throw new UnsupportedElementException("Unsupported provider method " + method);
+        }
+
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (!support.isException(thrown) && !support.isUncheckedThrowable(thrown)) {
+                throw new UnsupportedElementException("Unsupported provider method " + method);
+            }
+        }
+
+        TypeMirror returnType = method.getReturnType();
+        TypeMirror keyType = support.isProvider(returnType) ? support.providedType(returnType) : returnType;
+        String key = support.keyExpression(keyType, support.findQualifier(method), packageName);
+        boolean singleton = support.hasAnnotation(method, SourceSupport.SINGLETON);
+
+        List<String> argumentKeys = new ArrayList<>();
+        List<String> providerArguments = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            TypeMirror type = parameter.asType();
+            boolean provider = support.isProvider(type);
+            TypeMirror argumentKeyType = provider ? support.providedType(type) : type;
+
+            argumentKeys.add(support.keyExpression(argumentKeyType, support.findQualifier(parameter), packageName));
+            providerArguments.add(String.valueOf(provider));
+            arguments.add("(" + support.render(type, packageName) + ") arguments[" + i + "]");
+        }
+
+        descriptors.add("new " + DESCRIPTOR + "(\n"
+                + "                        " + support.getElements().getConstantExpression(method.getSimpleName().toString()) + ",\n"
+                + "                        " + key + ",\n"
+                + "                        " + singleton + ",\n"
+                + "                        new " + SourceSupport.KEY + "<?>[]{" + String.join(", ", argumentKeys) + "},\n"
+                + "                        new boolean[]{" + String.join(", ", providerArguments) + "})");
+
+        String target = method.getModifiers().contains(Modifier.STATIC)
+                ? moduleName
+                : "((" + moduleName + ") module)";
+
+        invocations.add("return " + target + "." + method.getSimpleName() + "(" + String.join(", ", arguments) + ");");
+    }
+
+    String write() {
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+
+        out.append("@javax.annotation.processing.Generated(\"")
+                .append(InjectionAdapterProcessor.class.getName()).append("\")\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append("public final class ").append(getSimpleName())
+                .append(" implements io.bootique.di.spi.ProvidesIndex {\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public ").append(DESCRIPTOR).append("[] getMethods() {\n");
+        out.append("        return new ").append(DESCRIPTOR).append("[]{");
+        for (int i = 0; i < descriptors.size(); i++) {
+            out.append(i > 0 ? ",\n                " : "\n                ").append(descriptors.get(i));
+        }
+        out.append("\n        };\n");
+        out.append("    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public Object invoke(int method, Object module, Object[] arguments) throws Exception {\n");
+        out.append("        switch (method) {\n");
+        for (int i = 0; i < invocations.size(); i++) {
+            out.append("            case ").append(i).append(":\n");
+            out.append("                ").append(invocations.get(i)).append('\n');
+        }
+        out.append("            default:\n");
+        out.append("                throw new IllegalArgumentException(\"Unknown provider method index: \" + method);\n");
+        out.append("        }\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        return out.toString();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper methods to inspect source elements and to render them as Java source code of a generated class.
+ *
+ * @since 3.0
+ */
+class SourceSupport {
+
+    static final String INJECT = "javax.inject.Inject";
+    static final String BQ_INJECT = "io.bootique.di.BQInject";
+    static final String SINGLETON = "javax.inject.Singleton";
+    static final String QUALIFIER = "javax.inject.Qualifier";
+    static final String NAMED = "javax.inject.Named";
+    static final String PROVIDER = "javax.inject.Provider";
+    static final String PROVIDES = "io.bootique.di.Provides";
+    static final String MODULE = "io.bootique.BQModule";
+
+    static final String KEY = "io.bootique.di.Key";
+    static final String TYPE_LITERAL = "io.bootique.di.TypeLiteral";
+
+    private final Elements elements;
+    private final Types types;
+
+    SourceSupport(ProcessingEnvironment env) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+    }
+
+    Elements getElements() {
+        return elements;
+    }
+
+    Types getTypes() {
+        return types;
+    }
+
+    String packageName(TypeElement type) {
+        return elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * Returns a simple name of a generated class for a given type. E.g. "Outer.Inner" becomes "Outer$Inner" + suffix.
+     * Nested class names keep the "$" separator of their binary names, so that they can't collide with the names
+     * generated for the top-level classes, e.g. "Outer_Inner".
+     */
+    String generatedSimpleName(TypeElement type, String suffix) {
+        String binaryName = elements.getBinaryName(type).toString();
+        String packageName = packageName(type);
+        String localName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return localName + suffix;
+    }
+
+    boolean hasAnnotation(Element element, String annotationType) {
+        return findAnnotation(element, annotationType) != null;
+    }
+
+    boolean hasInjectAnnotation(Element element) {
+        return hasAnnotation(element, INJECT) || hasAnnotation(element, BQ_INJECT);
+    }
+
+    AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return a;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a single qualifier annotation of the element or null if there's none.
+     */
+    AnnotationMirror findQualifier(Element element) {
+        AnnotationMirror found = null;
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (hasAnnotation(a.getAnnotationType().asElement(), QUALIFIER)) {
+                if (found != null) {
+                    // let the runtime report this
+                    throw new UnsupportedElementException("Multiple qualifiers on " + element);
+                }
+                found = a;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks whether an element can be referenced from a generated class in a given package.
+     */
+    boolean isAccessible(Element element, String fromPackage) {
+
+        Element e = element;
+        while (e != null && e.getKind() != ElementKind.PACKAGE) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            if (!e.getModifiers().contains(Modifier.PUBLIC)
+                    && !elements.getPackageOf(e).getQualifiedName().contentEquals(fromPackage)) {
+                return false;
+            }
+
+            e = e.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether a class can be instantiated from a generated class in a given package.
+     */
+    boolean isInstantiable(TypeElement type, String fromPackage) {
+
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()
+                || !isAccessible(type, fromPackage)) {
+            return false;
+        }
+
+        // inner (non-static) classes can't be instantiated without an outer instance
+        Element e = type;
+        while (e.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            if (!e.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            e = e.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    boolean isProvider(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(PROVIDER);
+    }
+
+    /**
+     * Returns a type argument of a parameterized javax.inject.Provider.
+     */
+    TypeMirror providedType(TypeMirror providerType) {
+        List<? extends TypeMirror> args = ((DeclaredType) providerType).getTypeArguments();
+        if (args.size() != 1 || args.get(0).getKind() == TypeKind.WILDCARD) {
+            throw new UnsupportedElementException("Unsupported provider type " + providerType);
+        }
+        return args.get(0);
+    }
+
+    boolean isUncheckedThrowable(TypeMirror type) {
+        return types.isAssignable(type, elements.getTypeElement("java.lang.RuntimeException").asType())
+                || types.isAssignable(type, elements.getTypeElement("java.lang.Error").asType());
+    }
+
+    boolean isException(TypeMirror type) {
+        return types.isAssignable(type, elements.getTypeElement("java.lang.Exception").asType());
+    }
+
+    /**
+     * Renders a type as a fully-qualified Java source name, checking that it is accessible from a given package.
+     */
+    String render(TypeMirror type, String fromPackage) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+            case VOID:
+                return type.getKind().name().toLowerCase();
+            case ARRAY:
+                return render(((ArrayType) type).getComponentType(), fromPackage) + "[]";
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return "? extends " + render(wildcard.getExtendsBound(), fromPackage);
+                }
+                if (wildcard.getSuperBound() != null) {
+                    return "? super " + render(wildcard.getSuperBound(), fromPackage);
+                }
+                return "?";
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                TypeElement element = (TypeElement) declared.asElement();
+                if (!isAccessible(element, fromPackage)) {
+                    throw new UnsupportedElementException("Type is not accessible: " + type);
+                }
+
+                StringBuilder name = new StringBuilder(element.getQualifiedName());
+                List<? extends TypeMirror> args = declared.getTypeArguments();
+                if (!args.isEmpty()) {
+                    name.append('<');
+                    for (int i = 0; i < args.size(); i++) {
+                        if (i > 0) {
+                            name.append(", ");
+                        }
+                        name.append(render(args.get(i), fromPackage));
+                    }
+                    name.append('>');
+                }
+                return name.toString();
+            default:
+                // type variables, intersection types, unresolved types, etc.
+                throw new UnsupportedElementException("Unsupported type: " + type);
+        }
+    }
+
+    /**
+     * Renders a boxed type for the primitives, and the type itself for everything else.
+     */
+    String renderBoxed(TypeMirror type, String fromPackage) {
+        return type.getKind().isPrimitive()
+                ? types.boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                : render(type, fromPackage);
+    }
+
+    /**
+     * Renders an expression creating a DI Key for a given type and an optional qualifier.
+     */
+    String keyExpression(TypeMirror type, AnnotationMirror qualifier, String fromPackage) {
+
+        String typeExpression = isGeneric(type)
+                ? "new " + TYPE_LITERAL + "<" + render(type, fromPackage) + ">() {}"
+                : render(types.erasure(type), fromPackage) + ".class";
+
+        if (qualifier == null) {
+            return KEY + ".get(" + typeExpression + ")";
+        }
+
+        TypeElement qualifierType = (TypeElement) qualifier.getAnnotationType().asElement();
+        if (qualifierType.getQualifiedName().contentEquals(NAMED)) {
+            return KEY + ".get(" + typeExpression + ", " + elements.getConstantExpression(namedValue(qualifier)) + ")";
+        }
+
+        if (!isAccessible(qualifierType, fromPackage)) {
+            throw new UnsupportedElementException("Qualifier is not accessible: " + qualifierType);
+        }
+
+        return KEY + ".get(" + typeExpression + ", " + qualifierType.getQualifiedName() + ".class)";
+    }
+
+    private boolean isGeneric(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isGeneric(((ArrayType) type).getComponentType());
+        }
+
+        return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private String namedValue(AnnotationMirror named) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : named.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(e.getValue().getValue());
+            }
+        }
+        return "";
+    }
+}
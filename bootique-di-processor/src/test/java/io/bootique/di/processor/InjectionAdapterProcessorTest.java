@@ -0,0 +1,253 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.processor;
+
+import io.bootique.BQModule;
+import io.bootique.di.Binder;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+import io.bootique.di.Provides;
+import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.InjectionAdapter;
+import io.bootique.di.spi.ProvidesIndex;
+import io.bootique.di.spi.ProvidesMethodDescriptor;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionAdapterProcessorTest {
+
+    @Test
+    public void injectionAdapter_Generated() throws ClassNotFoundException {
+        Class<?> adapter = Class.forName(getClass().getName() + "$Consumer_BQInjectionAdapter");
+        assertTrue(InjectionAdapter.class.isAssignableFrom(adapter));
+
+        Class.forName(getClass().getName() + "$SubConsumer_BQInjectionAdapter");
+    }
+
+    @Test
+    public void injectionAdapter_NotGenerated() {
+        // private fields and no-arg constructors are handled by reflection
+        assertThrows(ClassNotFoundException.class,
+                () -> Class.forName(getClass().getName() + "$PrivateFieldConsumer_BQInjectionAdapter"));
+        assertThrows(ClassNotFoundException.class,
+                () -> Class.forName(getClass().getName() + "$ServiceImpl_BQInjectionAdapter"));
+    }
+
+    @Test
+    public void providesIndex_Generated() throws Exception {
+        Class<?> indexType = Class.forName(getClass().getName() + "$TestModule_BQProvidesIndex");
+        ProvidesIndex index = (ProvidesIndex) indexType.getDeclaredConstructor().newInstance();
+
+        ProvidesMethodDescriptor[] methods = index.getMethods();
+        assertEquals(3, methods.length);
+
+        ProvidesMethodDescriptor names = methods[0];
+        assertEquals("provideNames", names.getName());
+        assertEquals(Key.get(new TypeLiteral<List<String>>() {}), names.getKey());
+        assertTrue(names.isSingleton());
+        assertEquals(1, names.getArgumentKeys().length);
+        assertEquals(Key.get(Service.class), names.getArgumentKeys()[0]);
+        assertTrue(names.getProviderArguments()[0]);
+
+        ProvidesMethodDescriptor size = methods[1];
+        assertEquals(Key.get(int.class, "size"), size.getKey());
+        assertFalse(size.isSingleton());
+
+        ProvidesMethodDescriptor staticService = methods[2];
+        assertEquals(Key.get(Service.class, "static"), staticService.getKey());
+        assertEquals(Key.get(String.class, "name"), staticService.getArgumentKeys()[0]);
+        assertFalse(staticService.getProviderArguments()[0]);
+    }
+
+    @Test
+    public void injector() {
+        Injector injector = DIBootstrap.createInjector(new TestModule());
+
+        Consumer consumer = injector.getInstance(Consumer.class);
+        assertEquals("impl", consumer.service.get());
+        assertEquals("impl", consumer.serviceProvider.get().get());
+        assertEquals("test", consumer.name);
+        assertEquals(5, consumer.size);
+        assertEquals(List.of("impl"), consumer.names);
+
+        SubConsumer subConsumer = injector.getInstance(SubConsumer.class);
+        assertEquals("impl", subConsumer.service.get());
+        assertEquals("test", subConsumer.name);
+        assertEquals("test", subConsumer.subName);
+
+        assertEquals("test", injector.getInstance(Key.get(Service.class, "static")).get());
+
+        PrivateFieldConsumer privateFieldConsumer = injector.getInstance(PrivateFieldConsumer.class);
+        assertEquals("test", privateFieldConsumer.name);
+    }
+
+    @Test
+    public void injectMembers() {
+        Injector injector = DIBootstrap.createInjector(new TestModule());
+
+        SubConsumer subConsumer = new SubConsumer(() -> "x");
+        injector.injectMembers(subConsumer);
+        assertEquals("test", subConsumer.name);
+        assertEquals("test", subConsumer.subName);
+    }
+
+    @Test
+    public void injectionAdapter_NestedAndTopLevelNamesDontCollide() throws ClassNotFoundException {
+        Class.forName(getClass().getName() + "$Consumer_BQInjectionAdapter");
+        Class.forName(getClass().getName() + "_Consumer_BQInjectionAdapter");
+
+        Injector injector = DIBootstrap.createInjector(new TestModule());
+        assertEquals("impl", injector.getInstance(Consumer.class).service.get());
+        assertEquals("test", injector.getInstance(InjectionAdapterProcessorTest_Consumer.class).name);
+    }
+
+    @Test
+    public void unboundDependency_SameErrorAsReflection() throws ClassNotFoundException {
+        Class.forName(getClass().getName() + "$UnboundConstructorConsumer_BQInjectionAdapter");
+        Class.forName(getClass().getName() + "$UnboundFieldConsumer_BQInjectionAdapter");
+
+        Injector adapterInjector = DIBootstrap.createInjector(new TestModule());
+
+        // custom annotation predicates turn off the generated adapters
+        Injector reflectionInjector = DIBootstrap.injectorBuilder(new TestModule())
+                .withInjectAnnotationPredicate(o -> o.isAnnotationPresent(Inject.class))
+                .build();
+
+        for (Class<?> type : List.of(UnboundConstructorConsumer.class, UnboundFieldConsumer.class)) {
+            DIRuntimeException adapterError = assertThrows(DIRuntimeException.class, () -> adapterInjector.getInstance(type));
+            DIRuntimeException reflectionError = assertThrows(DIRuntimeException.class, () -> reflectionInjector.getInstance(type));
+            assertEquals(reflectionError.getOriginalMessage(), adapterError.getOriginalMessage());
+        }
+    }
+
+    interface Service {
+        String get();
+    }
+
+    static class ServiceImpl implements Service {
+
+        @Override
+        public String get() {
+            return "impl";
+        }
+    }
+
+    static class Consumer {
+
+        final Service service;
+        final Provider<Service> serviceProvider;
+
+        @Inject
+        @Named("name")
+        String name;
+
+        @Inject
+        @Named("size")
+        int size;
+
+        @Inject
+        List<String> names;
+
+        @Inject
+        Consumer(Service service, Provider<Service> serviceProvider) {
+            this.service = service;
+            this.serviceProvider = serviceProvider;
+        }
+    }
+
+    static class SubConsumer extends Consumer {
+
+        @Inject
+        @Named("name")
+        String subName;
+
+        @Inject
+        SubConsumer(Service service) {
+            super(service, () -> service);
+        }
+    }
+
+    static class PrivateFieldConsumer {
+
+        @Inject
+        @Named("name")
+        private String name;
+    }
+
+    interface UnboundService {
+    }
+
+    static class UnboundConstructorConsumer {
+
+        @Inject
+        UnboundConstructorConsumer(UnboundService service) {
+        }
+    }
+
+    static class UnboundFieldConsumer {
+
+        @Inject
+        UnboundService service;
+    }
+
+    static class TestModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+            binder.bind(Service.class).to(ServiceImpl.class);
+            binder.bind(Key.get(String.class, "name")).toInstance("test");
+        }
+
+        @Provides
+        @Singleton
+        List<String> provideNames(Provider<Service> service) {
+            return List.of(service.get().get());
+        }
+
+        @Provides
+        @Named("size")
+        int provideSize() {
+            return 5;
+        }
+
+        @Provides
+        @Named("static")
+        static Service provideStaticService(@Named("name") String name) {
+            return () -> name;
+        }
+    }
+}
+
+// a top-level class with the name matching the flattened name of a nested class
+class InjectionAdapterProcessorTest_Consumer {
+
+    @Inject
+    @Named("name")
+    String name;
+}
@@ -41,6 +41,9 @@ import org.junit.jupiter.api.extension.ExtensionContext;
  *   public BQTestFactory methodScopeFactory = new BQTestFactory();
  * }
  * </pre>
+ * <p>
+ * Tests that need lots of identical runtimes can create them via {@link TestRuntumeBuilder#createTemplate()}, which
+ * skips repeated module auto-loading and sorting.
  *
  * @since 2.0
  */
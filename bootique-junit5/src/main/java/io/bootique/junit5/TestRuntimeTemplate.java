@@ -0,0 +1,70 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.junit5;
+
+import io.bootique.BQRuntime;
+import io.bootique.BQRuntimeTemplate;
+import io.bootique.command.CommandOutcome;
+
+/**
+ * A reusable template of the test runtimes, that creates identical runtimes, skipping module auto-loading and sorting
+ * that {@link TestRuntumeBuilder#createRuntime()} would do for each runtime. Module instances are shared by all the
+ * runtimes created from the template. The runtimes are shut down by the {@link BQTestFactory} that created the
+ * template, same as the runtimes created by the builder. E.g.:
+ * <pre>
+ * TestRuntimeTemplate template = testFactory.app("--config=my.yml").module(MyModule.class).createTemplate();
+ * for (int i = 0; i &lt; 100; i++) {
+ *     BQRuntime runtime = template.createRuntime();
+ * }
+ * </pre>
+ *
+ * @since 3.0
+ */
+public class TestRuntimeTemplate {
+
+    private final BQRuntimeTemplate template;
+    private final TestRuntimesManager runtimes;
+
+    TestRuntimeTemplate(BQRuntimeTemplate template, TestRuntimesManager runtimes) {
+        this.template = template;
+        this.runtimes = runtimes;
+    }
+
+    /**
+     * Creates and returns a new {@link BQRuntime}.
+     *
+     * @return a new instance of {@link BQRuntime} configured in the builder that created this template.
+     */
+    public BQRuntime createRuntime() {
+        BQRuntime runtime = template.createRuntime();
+        runtimes.add(runtime);
+        return runtime;
+    }
+
+    /**
+     * A convenience shortcut for the tests that are interested in command outcome, not in the runtime state. This
+     * code is equivalent to <code>createRuntime().run()</code>.
+     *
+     * @return an outcome of the application command.
+     */
+    public CommandOutcome run() {
+        return createRuntime().run();
+    }
+}
@@ -66,6 +66,18 @@ public class TestRuntumeBuilder {
         return runtime;
     }
 
+    /**
+     * Creates a reusable template of the runtimes configured in this builder, that can create many identical
+     * runtimes. Unlike {@link #createRuntime()}, the template auto-loads and sorts the modules only once, and shares
+     * module instances between the runtimes. Subsequent changes to this builder do not affect the template.
+     *
+     * @return a new template of test runtimes.
+     * @since 3.0
+     */
+    public TestRuntimeTemplate createTemplate() {
+        return new TestRuntimeTemplate(bootique.createTemplate(), runtimes);
+    }
+
     /**
      * A convenience shortcut for the tests that are interested in command outcome, not in the runtime state. This
      * code is equivalent to <code>createRuntime().run()</code>.
@@ -48,6 +48,24 @@ public class BQTestFactory_PerMethod_IT {
         assertArrayEquals(new String[]{"-x", "-y", "-z"}, rt.getArgs());
     }
 
+    @Test
+    @DisplayName("Template runtimes")
+    public void template() {
+        TestRuntimeTemplate template = testFactory.app("-x")
+                .autoLoadModules()
+                .module(b -> BQCoreModule.extend(b).addCommand(XCommand.class))
+                .createTemplate();
+
+        BQRuntime rt1 = template.createRuntime();
+        BQRuntime rt2 = template.createRuntime();
+
+        assertNotSame(rt1, rt2);
+        assertArrayEquals(new String[]{"-x"}, rt2.getArgs());
+        assertNotSame(rt1.getInstance(Cli.class), rt2.getInstance(Cli.class));
+        assertTrue(template.run().isSuccess());
+        assertEquals(3, testFactory.getRuntimes().size());
+    }
+
     @Test
     @DisplayName("Custom BootLogger")
     public void bootLogger() {
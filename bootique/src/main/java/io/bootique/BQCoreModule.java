@@ -121,11 +121,7 @@ public class BQCoreModule implements BQModule {
     private static Optional<Command> defaultCommand(Injector injector) {
         // default is optional, so check via injector whether it is bound...
         Key<Command> key = Key.get(Command.class, DefaultCommand.class);
-        if (injector.hasProvider(key)) {
-            Provider<Command> commandProvider = injector.getProvider(key);
-            return Optional.of(commandProvider.get());
-        }
-        return Optional.empty();
+        return injector.findProvider(key).map(Provider::get);
     }
 
     /**
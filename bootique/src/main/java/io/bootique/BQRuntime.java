@@ -60,10 +60,9 @@ public class BQRuntime {
      * @return a DI-bound instance of a given type.
      */
     public <T> T getInstance(Key<T> diKey) {
-        if (!injector.hasProvider(diKey)) {
-            throw new NullPointerException("No binding for key: " + diKey);
-        }
-        return injector.getProvider(diKey).get();
+        return injector.findProvider(diKey)
+                .orElseThrow(() -> new NullPointerException("No binding for key: " + diKey))
+                .get();
     }
 
     public BootLogger getBootLogger() {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique;
+
+import io.bootique.di.Injector;
+import io.bootique.di.InjectorTemplate;
+import io.bootique.log.BootLogger;
+import io.bootique.shutdown.ShutdownManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A reusable template of a Bootique app, that creates identical {@link BQRuntime} instances, each one with its own
+ * DI injector and fresh singletons. Compared to {@link Bootique#createRuntime()}, the template only saves on module
+ * auto-loading (done once, when the template is created) and module sorting (done once, when the first runtime is
+ * created). Module instances are shared by all the runtimes, so they must not keep any per-runtime state. Created via
+ * {@link Bootique#createTemplate()}.
+ *
+ * @since 3.0
+ */
+public class BQRuntimeTemplate {
+
+    private final String[] args;
+    private final BootLogger bootLogger;
+    private final ShutdownManager shutdownManager;
+    private final Collection<ModuleCrate> crates;
+    private final InjectorTemplate injectorTemplate;
+
+    // lazily initialized, as the core module is created per runtime
+    private List<ModuleCrate> sortedCrates;
+    private int coreCrateIndex;
+
+    BQRuntimeTemplate(
+            String[] args,
+            BootLogger bootLogger,
+            ShutdownManager shutdownManager,
+            Collection<ModuleCrate> crates,
+            InjectorTemplate injectorTemplate) {
+
+        this.args = args;
+        this.bootLogger = bootLogger;
+        this.shutdownManager = shutdownManager;
+        this.crates = crates;
+        this.injectorTemplate = injectorTemplate;
+    }
+
+    /**
+     * Creates a new runtime with the template arguments.
+     *
+     * @return a new {@link BQRuntime} instance.
+     */
+    public BQRuntime createRuntime() {
+        return createRuntime(args);
+    }
+
+    /**
+     * Creates a new runtime with the provided arguments in place of the template arguments.
+     *
+     * @param args a String vararg emulating shell arguments passed to a real app.
+     * @return a new {@link BQRuntime} instance.
+     */
+    public BQRuntime createRuntime(String... args) {
+
+        // unless a custom ShutdownManager is provided, each runtime gets its own, same as with Bootique.createRuntime()
+        ShutdownManager shutdownManager = this.shutdownManager != null
+                ? this.shutdownManager
+                : Bootique.defaultShutdownManager(bootLogger);
+
+        DeferredModulesSource modulesSource = new DeferredModulesSource();
+        BQCoreModule coreModule = new BQCoreModule(Objects.requireNonNull(args), bootLogger, shutdownManager, modulesSource);
+
+        List<ModuleCrate> runtimeCrates = sortedCrates(coreModule.crate());
+        modulesSource.init(runtimeCrates);
+
+        Injector injector = injectorTemplate.createInjector(Bootique.modules(runtimeCrates));
+        return Bootique.createRuntime(injector);
+    }
+
+    private synchronized List<ModuleCrate> sortedCrates(ModuleCrate coreCrate) {
+
+        if (sortedCrates == null) {
+            sortedCrates = new ArrayList<>(Bootique.sortCrates(coreCrate, crates, bootLogger));
+            coreCrateIndex = sortedCrates.indexOf(coreCrate);
+
+            // don't hold on to the core module of the first runtime
+            sortedCrates.set(coreCrateIndex, null);
+        }
+
+        // the sorting order doesn't depend on the core module instance, so just swap it in the sorted list
+        List<ModuleCrate> runtimeCrates = new ArrayList<>(sortedCrates);
+        runtimeCrates.set(coreCrateIndex, coreCrate);
+        return runtimeCrates;
+    }
+}
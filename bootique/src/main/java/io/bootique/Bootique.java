@@ -273,13 +273,40 @@ public class Bootique {
     }
 
     private BQRuntime createRuntime(ShutdownManager shutdownManager, BootLogger logger) {
-        Injector injector = createInjector(shutdownManager, logger);
+        return createRuntime(createInjector(shutdownManager, logger));
+    }
+
+    static BQRuntime createRuntime(Injector injector) {
         BQRuntime runtime = new BQRuntime(injector);
 
         runtime.getInstance(Key.getSetOf(BQRuntimeListener.class)).forEach(sl -> sl.onRuntimeCreated(runtime));
         return runtime;
     }
 
+    /**
+     * Creates a reusable template of this app that can produce many identical {@link BQRuntime} instances. The only
+     * work saved by the template compared to {@link #createRuntime()} is module auto-loading, done once by this
+     * method, and module sorting, done once when the first runtime is created. Module "configure" methods and
+     * provider methods are still invoked for each runtime, as each runtime has its own DI injector with fresh
+     * singletons. Module instances are shared by all the runtimes created from the template (except for
+     * {@link BQCoreModule} that is created per runtime), so the modules must not keep any per-runtime state.
+     * Subsequent changes to this Bootique object do not affect the template.
+     *
+     * @return a new template of {@link BQRuntime} instances configured in this object.
+     * @since 3.0
+     */
+    public BQRuntimeTemplate createTemplate() {
+        BootLogger logger = resolveBootLogger();
+
+        // the core module is not included, as each runtime gets its own core module with its own services
+        return new BQRuntimeTemplate(
+                args,
+                logger,
+                shutdownManager,
+                new ArrayList<>(collectCrates()),
+                DIBootstrap.injectorBuilder().buildTemplate());
+    }
+
     /**
      * Executes this Bootique application, returning the outcome object.
      *
@@ -381,7 +408,6 @@ public class Bootique {
 
     Injector createInjector(ShutdownManager shutdownManager, BootLogger logger) {
 
-        Collection<ModuleCrate> crates = new HashSet<>();
         DeferredModulesSource modulesSource = new DeferredModulesSource();
 
         // BQCoreModule requires a couple of explicit services that can not be initialized within the module itself
@@ -389,21 +415,41 @@ public class Bootique {
 
         // Note that BQCoreModule is invalid at this point due to uninitialized "modulesSource". It will be
         // initialized below, which is safe to do, as it won't be used until the Injector is returned to the method caller.
-        crates.add(coreModule.crate());
-        crates.addAll(this.crates);
+        List<ModuleCrate> sortedCrates = sortCrates(coreModule.crate(), logger);
+
+        // before returning the Injector, finish 'moduleMetadata' initialization
+        modulesSource.init(sortedCrates);
+
+        return DIBootstrap.injectorBuilder(modules(sortedCrates)).build();
+    }
+
+    private List<ModuleCrate> sortCrates(ModuleCrate coreCrate, BootLogger logger) {
+        return sortCrates(coreCrate, collectCrates(), logger);
+    }
+
+    static List<ModuleCrate> sortCrates(ModuleCrate coreCrate, Collection<ModuleCrate> crates, BootLogger logger) {
+
+        Collection<ModuleCrate> allCrates = new HashSet<>();
+        allCrates.add(coreCrate);
+        allCrates.addAll(crates);
+
+        return new ModulesSorter(logger).uniqueCratesInLoadOrder(allCrates);
+    }
+
+    private Collection<ModuleCrate> collectCrates() {
+
+        Collection<ModuleCrate> crates = new HashSet<>(this.crates);
 
         if (autoLoadModules) {
             autoLoadedModules().forEach(m -> crates.add(m.crate()));
             autoLoadedProviders().forEach(p -> crates.add(p.moduleBuilder().build().toCrate()));
         }
 
-        List<ModuleCrate> sortedCrates = new ModulesSorter(logger).uniqueCratesInLoadOrder(crates);
-
-        // before returning the Injector, finish 'moduleMetadata' initialization
-        modulesSource.init(sortedCrates);
+        return crates;
+    }
 
-        BQModule[] modules = sortedCrates.stream().map(ModuleCrate::getModule).toArray(BQModule[]::new);
-        return DIBootstrap.injectorBuilder(modules).build();
+    static BQModule[] modules(List<ModuleCrate> crates) {
+        return crates.stream().map(ModuleCrate::getModule).toArray(BQModule[]::new);
     }
 
     List<BQModule> autoLoadedModules() {
@@ -421,7 +467,11 @@ public class Bootique {
     ShutdownManager resolveShutdownManager(BootLogger logger) {
         return shutdownManager != null
                 ? shutdownManager
-                : new DefaultShutdownManager(Duration.ofMillis(10000L), logger);
+                : defaultShutdownManager(logger);
+    }
+
+    static ShutdownManager defaultShutdownManager(BootLogger logger) {
+        return new DefaultShutdownManager(Duration.ofMillis(10000L), logger);
     }
 
     BootLogger resolveBootLogger() {
@@ -21,6 +21,7 @@ package io.bootique.di;
 
 import io.bootique.BQModule;
 import io.bootique.di.spi.DefaultInjector;
+import io.bootique.di.spi.DefaultInjectorTemplate;
 import io.bootique.di.spi.InjectorPredicates;
 
 import javax.inject.Provider;
@@ -89,11 +90,13 @@ public class DIBootstrap {
         private Set<DefaultInjector.Options> options;
         private InjectorPredicates injectorPredicates;
         private BQModule[] modules;
+        private int earlySetupParallelism;
 
         private InjectorBuilder(BQModule... modules) {
             this.options = EnumSet.noneOf(DefaultInjector.Options.class);
             this.modules = modules;
             this.injectorPredicates = new InjectorPredicates();
+            this.earlySetupParallelism = 1;
         }
 
         /**
@@ -162,6 +165,50 @@ public class DIBootstrap {
             return this;
         }
 
+        /**
+         * Freeze the bindings once all modules are configured. Lookups of the configured keys are served from an
+         * immutable table, and repeated {@link Injector#getProvider(Key)} calls return the same fully resolved
+         * provider instance, so the callers can keep and reuse it. Dynamic bindings are still supported, but take a
+         * slower path. Disabled by default.
+         *
+         * @return this
+         * @since 3.0
+         */
+        public InjectorBuilder freezeBindings() {
+            options.add(DefaultInjector.Options.FREEZE_BINDINGS);
+            return this;
+        }
+
+        /**
+         * Materialize injected Sets and Maps only once if all their elements are singletons (or instances), and share
+         * the resulting immutable collection between the callers. Collections with mixed elements are still created
+         * on each injection, but only their non-singleton elements are resolved again. Disabled by default.
+         *
+         * @return this
+         * @since 3.0
+         */
+        public InjectorBuilder cacheSingletonCollections() {
+            options.add(DefaultInjector.Options.CACHE_SINGLETON_COLLECTIONS);
+            return this;
+        }
+
+        /**
+         * Create services marked with {@link ScopeBuilder#initOnStartup()} concurrently, using up to a given number of
+         * threads. Useful when such services do blocking I/O on startup. Disabled by default, all services are
+         * created on the calling thread.
+         *
+         * @param parallelism max number of threads to use for the early setup
+         * @return this
+         * @since 3.0
+         */
+        public InjectorBuilder parallelEarlySetup(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+            }
+            this.earlySetupParallelism = parallelism;
+            return this;
+        }
+
         /**
          * Set custom predicate for methods in modules that should be used as providers.
          * Default predicate test methods for {@link Provides} annotation.
@@ -252,7 +299,19 @@ public class DIBootstrap {
          * @return injector
          */
         public Injector build() {
-            return new DefaultInjector(options, injectorPredicates, modules);
+            return new DefaultInjector(options, injectorPredicates, earlySetupParallelism, modules);
+        }
+
+        /**
+         * Builds a reusable template that creates injectors with provided options and modules. Useful when many
+         * identical injectors are needed. Note that the template doesn't precompute any bindings, and module
+         * "configure" methods are invoked for each injector.
+         *
+         * @return injector template
+         * @since 3.0
+         */
+        public InjectorTemplate buildTemplate() {
+            return new DefaultInjectorTemplate(options, injectorPredicates, earlySetupParallelism, modules);
         }
     }
 
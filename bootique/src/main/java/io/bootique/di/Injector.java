@@ -19,8 +19,12 @@
 
 package io.bootique.di;
 
+import io.bootique.BQModule;
+
 import javax.inject.Provider;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
 
 /**
  * A facade to the Bootique DI container. To create an injector use {@link DIBootstrap} static methods.
@@ -45,6 +49,31 @@ public interface Injector {
 
     <T> Provider<T> getProvider(Key<T> key) throws DIRuntimeException;
 
+    /**
+     * Returns a handle to the binding of a given type. See {@link #getHandle(Key)} for details.
+     *
+     * @since 3.0
+     */
+    default <T> Provider<T> getHandle(Class<T> type) throws DIRuntimeException {
+        return getHandle(Key.get(type));
+    }
+
+    /**
+     * Returns a handle to the binding of a given key, intended to be kept by the callers that need instances of the
+     * same key over and over again, e.g. in a loop. The binding is resolved once, when the handle is created (or on
+     * the first call, if the injector is still being configured), and each {@link Provider#get()} call afterwards
+     * is a check of the injector shutdown flag followed by a direct call to the scoped provider of the binding. Unlike
+     * {@link #getInstance(Key)}, there's no key lookup, no provider wrapping and no circular dependency check per
+     * call.
+     * <p>
+     * The default implementation returns {@link #getProvider(Key)}, without the per-call optimizations above.
+     *
+     * @since 3.0
+     */
+    default <T> Provider<T> getHandle(Key<T> key) throws DIRuntimeException {
+        return getProvider(key);
+    }
+
     /**
      * @param type binding type to check
      * @return is provider for given type registered
@@ -58,6 +87,44 @@ public interface Injector {
      */
     boolean hasProvider(Key<?> key) throws DIRuntimeException;
 
+    /**
+     * Returns a provider for a given type if it is bound in the container. See {@link #findProvider(Key)} for details.
+     *
+     * @since 3.0
+     */
+    default <T> Optional<Provider<T>> findProvider(Class<T> type) throws DIRuntimeException {
+        return findProvider(Key.get(type));
+    }
+
+    /**
+     * Returns a provider for a given key if it is bound in the container, or an empty Optional otherwise. Same as
+     * calling {@link #hasProvider(Key)} followed by {@link #getProvider(Key)}, only with a single binding lookup.
+     * Unbound keys are never resolved dynamically by this method.
+     * <p>
+     * The default implementation calls {@link #hasProvider(Key)} and {@link #getProvider(Key)}, doing two lookups.
+     *
+     * @since 3.0
+     */
+    default <T> Optional<Provider<T>> findProvider(Key<T> key) throws DIRuntimeException {
+        return hasProvider(key) ? Optional.of(getProvider(key)) : Optional.empty();
+    }
+
+    /**
+     * Creates a child injector with bindings from the provided modules. Keys that are not bound in the child are
+     * resolved by this injector, so the child shares the singletons of this injector, and creating a child only
+     * configures the provided modules. Child bindings override the bindings of this injector, but only for the
+     * objects created by the child. Objects created by this injector never see the child bindings. Child decorators,
+     * Set and Map contributions only apply to the bindings declared in the child.
+     * <p>
+     * The child inherits the options of this injector. Child singletons are shut down together with the child, and
+     * shutting down the child doesn't affect this injector.
+     *
+     * @param modules modules with child bindings
+     * @return a new child injector
+     * @since 3.0
+     */
+    Injector createChildInjector(BQModule... modules) throws DIRuntimeException;
+
     /**
      * Performs field injection on a given object, ignoring constructor injection. This method is rarely used directly,
      * as objects that require dependency injection are usually themselves obtained from the injector, and have all
@@ -85,4 +152,20 @@ public interface Injector {
      * @return collection of keys bound to given type
      */
     <T> Collection<Key<T>> getKeysByType(Class<T> type);
+
+    /**
+     * Returns collection of {@link Key} bound to given type or to any of its subclasses or implementations, regardless
+     * of additional qualifiers (annotations and/or names). Keys are returned in the order of binding. The lookup is
+     * done in an index built once all the modules are configured, and none of the bound objects are instantiated.
+     * <p>
+     * The default implementation only returns the keys of the exact type, as returned by {@link #getKeysByType(Class)}.
+     *
+     * @param type interested class or interface
+     * @param <T>  type
+     * @return collection of keys bound to given type or its subtypes
+     * @since 3.0
+     */
+    default <T> Collection<Key<? extends T>> getKeysAssignableTo(Class<T> type) {
+        return Collections.unmodifiableCollection(getKeysByType(type));
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.BQModule;
+
+/**
+ * A reusable recipe for creating many injectors with the same options and modules. Each injector created from the
+ * template is fully independent, with its own bindings and a fresh singleton scope, so module "configure" methods are
+ * invoked for every injector. The template itself doesn't make injector creation any faster. Reflection metadata of
+ * the module classes (e.g. indexes of the provider methods) is cached per class and is shared by all the injectors
+ * with the same predicates, whether they are created from a template or not.
+ *
+ * @see DIBootstrap.InjectorBuilder#buildTemplate()
+ * @since 3.0
+ */
+public interface InjectorTemplate {
+
+    /**
+     * Creates a new injector with the template modules.
+     */
+    Injector createInjector() throws DIRuntimeException;
+
+    /**
+     * Creates a new injector with the provided modules instead of the template modules. This allows to create
+     * injectors with modules holding per-injector state.
+     */
+    Injector createInjector(BQModule... modules) throws DIRuntimeException;
+}
@@ -31,11 +31,20 @@ public class Key<T> {
 
     private static final KeyQualifier NO_QUALIFIER = new NoQualifier();
 
+    // unqualified keys of plain classes are interned, so that repeated lookups by class don't allocate
+    private static final ClassValue<Key<?>> CLASS_KEYS = new ClassValue<>() {
+        @Override
+        protected Key<?> computeValue(Class<?> type) {
+            return new Key<>(TypeLiteral.of(type), (String) null);
+        }
+    };
+
     /**
      * Creates a key for a nameless binding of a given type.
      */
+    @SuppressWarnings("unchecked")
     public static <T> Key<T> get(Class<T> type) {
-        return get(TypeLiteral.of(type));
+        return (Key<T>) CLASS_KEYS.get(Objects.requireNonNull(type, "No class"));
     }
 
     /**
@@ -64,7 +73,11 @@ public class Key<T> {
         return get(typeLiteral, (String)null);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> Key<T> get(TypeLiteral<T> typeLiteral, String bindingName) {
+        if ((bindingName == null || bindingName.isEmpty()) && typeLiteral.isClass()) {
+            return (Key<T>) CLASS_KEYS.get(typeLiteral.getRawType());
+        }
         return new Key<>(typeLiteral, bindingName);
     }
 
@@ -146,8 +159,25 @@ public class Key<T> {
         return get(type);
     }
 
+    /**
+     * Creates Pooled&lt;T&gt; version of given key
+     *
+     * @since 3.0
+     */
+    public static <T> Key<Pooled<T>> getPooledOf(Key<T> key) {
+        TypeLiteral<Pooled<T>> type = TypeLiteral.pooledOf(key.getType());
+        if(key.getBindingName() != null) {
+            return get(type, key.getBindingName());
+        }
+        if(key.getBindingAnnotation() != null) {
+            return get(type, key.getBindingAnnotation());
+        }
+        return get(type);
+    }
+
     private final TypeLiteral<T> type;
     private final KeyQualifier qualifier;
+    private final int hashCode;
 
     protected Key(TypeLiteral<T> type, String bindingName) {
         this.type = TypeLiteral.normalize(type);
@@ -155,6 +185,7 @@ public class Key<T> {
         this.qualifier = bindingName != null && bindingName.length() > 0
                 ? new NamedKeyQualifier(bindingName)
                 : NO_QUALIFIER;
+        this.hashCode = computeHashCode();
     }
 
     protected Key(TypeLiteral<T> type, Class<? extends Annotation> annotationType) {
@@ -163,6 +194,7 @@ public class Key<T> {
         this.qualifier = annotationType == null
                 ? NO_QUALIFIER
                 : new AnnotationTypeQualifier(annotationType);
+        this.hashCode = computeHashCode();
     }
 
     protected Key(TypeLiteral<T> type, Annotation annotationInstance) {
@@ -178,6 +210,11 @@ public class Key<T> {
             // general case
             this.qualifier = new AnnotationTypeQualifier(annotationInstance.annotationType());
         }
+        this.hashCode = computeHashCode();
+    }
+
+    private int computeHashCode() {
+        return 407 + 11 * type.hashCode() + qualifier.hashCode();
     }
 
     public TypeLiteral<T> getType() {
@@ -195,6 +232,21 @@ public class Key<T> {
         return null;
     }
 
+    /**
+     * Returns a key of a given type with the same qualifier as this key.
+     *
+     * @since 3.0
+     */
+    public <S> Key<S> withType(TypeLiteral<S> type) {
+        if (qualifier instanceof NamedKeyQualifier) {
+            return get(type, ((NamedKeyQualifier) qualifier).getName());
+        }
+        if (qualifier instanceof AnnotationTypeQualifier) {
+            return get(type, ((AnnotationTypeQualifier) qualifier).getAnnotationType());
+        }
+        return get(type);
+    }
+
     public Class<? extends Annotation> getBindingAnnotation() {
         if (qualifier instanceof AnnotationTypeQualifier) {
             return ((AnnotationTypeQualifier) qualifier).getAnnotationType();
@@ -212,6 +264,10 @@ public class Key<T> {
         if (object instanceof Key<?>) {
             Key<?> key = (Key<?>) object;
 
+            if (hashCode != key.hashCode) {
+                return false;
+            }
+
             // type is guaranteed to be not null, so skip null checking...
             if (!type.equals(key.type)) {
                 return false;
@@ -226,7 +282,7 @@ public class Key<T> {
 
     @Override
     public int hashCode() {
-        return 407 + 11 * type.hashCode() + qualifier.hashCode();
+        return hashCode;
     }
 
     @Override
@@ -0,0 +1,41 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+/**
+ * An injectable wrapper of a dependency that is resolved on the first call to {@link #get()} and memoized afterwards.
+ * Unlike {@link javax.inject.Provider}, that is resolved on every call, all calls to a given Lazy instance return the
+ * same object, regardless of the dependency scope. Can be injected in any place where a regular dependency is
+ * injected, e.g.:
+ * <pre>
+ * &#64;Inject
+ * Lazy&lt;ReportEngine&gt; reportEngine;
+ * </pre>
+ *
+ * @param <T> dependency type.
+ * @since 3.0
+ */
+public interface Lazy<T> {
+
+    /**
+     * Returns the dependency, resolving it on the first call.
+     */
+    T get() throws DIRuntimeException;
+}
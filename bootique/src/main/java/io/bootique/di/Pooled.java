@@ -0,0 +1,52 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+/**
+ * A lease of an instance borrowed from a pool. Injected instead of the instance itself for the bindings in a pool
+ * scope (see {@link io.bootique.di.spi.PoolScope}). The instance is returned to the pool when the lease is closed, and
+ * must not be used after that. Leases are intended for short-lived, single-threaded use, e.g.:
+ * <pre>
+ * &#64;Inject
+ * Provider&lt;Pooled&lt;Parser&gt;&gt; parsers;
+ *
+ * try (Pooled&lt;Parser&gt; parser = parsers.get()) {
+ *     parser.get().parse(text);
+ * }
+ * </pre>
+ *
+ * @param <T> pooled object type.
+ * @since 3.0
+ */
+public interface Pooled<T> extends AutoCloseable {
+
+    /**
+     * Returns the borrowed instance.
+     *
+     * @throws DIRuntimeException if the lease is already closed.
+     */
+    T get() throws DIRuntimeException;
+
+    /**
+     * Returns the instance to the pool. Calling this method more than once has no effect.
+     */
+    @Override
+    void close();
+}
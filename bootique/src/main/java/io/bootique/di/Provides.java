@@ -23,6 +23,11 @@ import java.lang.annotation.*;
 
 /**
  * A runtime annotation for provider methods in Modules.
+ * <p>
+ * A method returning {@link java.util.concurrent.CompletionStage CompletionStage&lt;T&gt;} or
+ * {@link java.util.concurrent.CompletableFuture CompletableFuture&lt;T&gt;} is an async provider. It is called once on
+ * injector startup, so that the async providers run concurrently, and its result can be injected as either of the
+ * two stage types or as T (with the same qualifier). Injecting T waits for the stage completion.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -21,6 +21,8 @@ package io.bootique.di;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * This class represents any generic type T, as there is no support for this in Java.
@@ -33,16 +35,31 @@ public class TypeLiteral<T> {
 
     private static final Class<?> WILDCARD_MARKER = WildcardMarker.class;
 
+    private static final TypeLiteral<?>[] NO_ARGUMENTS = new TypeLiteral<?>[0];
+
+    // literals of plain classes are interned, so that repeated lookups by class don't allocate
+    private static final ClassValue<TypeLiteral<?>> CLASS_LITERALS = new ClassValue<>() {
+        @Override
+        protected TypeLiteral<?> computeValue(Class<?> type) {
+            return new TypeLiteral<>(type, NO_ARGUMENTS);
+        }
+    };
+
     private final Class<? super T> type;
-    private final String typeName;
-    private final String[] argumentTypes;
+    private final TypeLiteral<?>[] argumentTypes;
+    private final int hashCode;
+    private String name;
 
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Class<T> type) {
-        return new TypeLiteral<>(type);
+        return (TypeLiteral<T>) CLASS_LITERALS.get(Objects.requireNonNull(type, "No class"));
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> TypeLiteral<T> of(Type type) {
-        return new TypeLiteral<>(type);
+        return type instanceof Class
+                ? (TypeLiteral<T>) CLASS_LITERALS.get((Class<?>) type)
+                : new TypeLiteral<>(type);
     }
 
     public static <T> TypeLiteral<T> of(Class<T> rawType, Type... parameters) {
@@ -60,7 +77,7 @@ public class TypeLiteral<T> {
      * Creates TypeLiteral that represents List&lt;T&gt; type.
      */
     public static <T> TypeLiteral<List<T>> listOf(TypeLiteral<? extends T> type) {
-        return new TypeLiteral<>(List.class, type.toString());
+        return new TypeLiteral<>(List.class, normalize(type));
     }
 
     /**
@@ -74,7 +91,7 @@ public class TypeLiteral<T> {
      * Creates TypeLiteral that represents Set&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Set<T>> setOf(TypeLiteral<? extends T> valueType) {
-        return new TypeLiteral<>(Set.class, valueType.toString());
+        return new TypeLiteral<>(Set.class, normalize(valueType));
     }
 
     /**
@@ -88,7 +105,7 @@ public class TypeLiteral<T> {
      * Creates TypeLiteral that represents Map&lt;K, V&lt; type.
      */
     public static <K, V> TypeLiteral<Map<K, V>> mapOf(TypeLiteral<? extends K> keyType, TypeLiteral<? extends V> valueType) {
-        return new TypeLiteral<>(Map.class, keyType.toString(), valueType.toString());
+        return new TypeLiteral<>(Map.class, normalize(keyType), normalize(valueType));
     }
 
     /**
@@ -102,7 +119,52 @@ public class TypeLiteral<T> {
      * Creates TypeLiteral that represents Optional&lt;T&lt; type.
      */
     public static <T> TypeLiteral<Optional<T>> optionalOf(TypeLiteral<? extends T> type) {
-        return new TypeLiteral<>(Optional.class, type.toString());
+        return new TypeLiteral<>(Optional.class, normalize(type));
+    }
+
+    /**
+     * Creates TypeLiteral that represents Pooled&lt;T&lt; type.
+     *
+     * @since 3.0
+     */
+    public static <T> TypeLiteral<Pooled<T>> pooledOf(TypeLiteral<? extends T> type) {
+        return new TypeLiteral<>(Pooled.class, normalize(type));
+    }
+
+    /**
+     * Creates TypeLiteral that represents Lazy&lt;T&lt; type.
+     *
+     * @since 3.0
+     */
+    public static <T> TypeLiteral<Lazy<T>> lazyOf(Class<? extends T> type) {
+        return new TypeLiteral<>(Lazy.class, type);
+    }
+
+    /**
+     * Creates TypeLiteral that represents Lazy&lt;T&lt; type.
+     *
+     * @since 3.0
+     */
+    public static <T> TypeLiteral<Lazy<T>> lazyOf(TypeLiteral<? extends T> type) {
+        return new TypeLiteral<>(Lazy.class, normalize(type));
+    }
+
+    /**
+     * Creates TypeLiteral that represents CompletionStage&lt;T&lt; type.
+     *
+     * @since 3.0
+     */
+    public static <T> TypeLiteral<CompletionStage<T>> completionStageOf(TypeLiteral<? extends T> type) {
+        return new TypeLiteral<>(CompletionStage.class, normalize(type));
+    }
+
+    /**
+     * Creates TypeLiteral that represents CompletableFuture&lt;T&lt; type.
+     *
+     * @since 3.0
+     */
+    public static <T> TypeLiteral<CompletableFuture<T>> completableFutureOf(TypeLiteral<? extends T> type) {
+        return new TypeLiteral<>(CompletableFuture.class, normalize(type));
     }
 
     /**
@@ -122,39 +184,50 @@ public class TypeLiteral<T> {
     protected TypeLiteral() {
         Type genericType = getGenericSuperclassType(getClass());
         this.type = (Class<T>) getRawType(genericType);
-        this.typeName = type.getName();
-        Type[] argumentTypes = getArgumentTypes(genericType);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
+        this.argumentTypes = resolveArgumentTypes(getArgumentTypes(genericType));
+        this.hashCode = computeHashCode();
     }
 
     @SuppressWarnings("unchecked")
     private TypeLiteral(Type type) {
         this.type = (Class<T>) getRawType(Objects.requireNonNull(type, "No type"));
-        this.typeName = this.type.getName();
-        Type[] argumentTypes = getArgumentTypes(type);
-        this.argumentTypes = new String[argumentTypes.length];
-        initArgumentTypes(argumentTypes);
+        this.argumentTypes = resolveArgumentTypes(getArgumentTypes(type));
+        this.hashCode = computeHashCode();
     }
 
-    private TypeLiteral(Class<? super T> type, String... argumentTypes) {
-        this.type = type;
-        this.typeName = type.getName();
+    private TypeLiteral(Class<? super T> type, TypeLiteral<?>... argumentTypes) {
+        this.type = Objects.requireNonNull(type, "No class");
         this.argumentTypes = argumentTypes;
+        this.hashCode = computeHashCode();
     }
 
     private TypeLiteral(Class<? super T> type, Type... argumentsType) {
         this.type = Objects.requireNonNull(type, "No class");
-        this.typeName = type.getName();
-        this.argumentTypes = new String[argumentsType.length];
-        initArgumentTypes(argumentsType);
+        this.argumentTypes = resolveArgumentTypes(argumentsType);
+        this.hashCode = computeHashCode();
     }
 
-    private void initArgumentTypes(Type... argumentsType) {
-        for (int i = 0; i < argumentsType.length; i++) {
+    private static TypeLiteral<?>[] resolveArgumentTypes(Type... argumentsType) {
+        int len = argumentsType.length;
+        if (len == 0) {
+            return NO_ARGUMENTS;
+        }
+
+        TypeLiteral<?>[] argumentTypes = new TypeLiteral<?>[len];
+        for (int i = 0; i < len; i++) {
             // recursively resolve argument types..
-            this.argumentTypes[i] = new TypeLiteral<>(argumentsType[i]).toString();
+            Type argumentType = argumentsType[i];
+            argumentTypes[i] = argumentType instanceof Class
+                    ? CLASS_LITERALS.get((Class<?>) argumentType)
+                    : new TypeLiteral<>(argumentType);
         }
+        return argumentTypes;
+    }
+
+    private int computeHashCode() {
+        int result = type.hashCode();
+        result = 31 * result + Arrays.hashCode(argumentTypes);
+        return result;
     }
 
     private static Type getGenericSuperclassType(Class<?> subclass) {
@@ -170,6 +243,23 @@ public class TypeLiteral<T> {
         return type;
     }
 
+    /**
+     * Returns a type argument of a generic type at a given position.
+     *
+     * @throws IndexOutOfBoundsException if the type has no argument at this position
+     * @since 3.0
+     */
+    public TypeLiteral<?> getArgumentType(int index) {
+        return argumentTypes[index];
+    }
+
+    /**
+     * Returns true if this literal represents a plain non-generic class.
+     */
+    boolean isClass() {
+        return argumentTypes.length == 0;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -180,7 +270,7 @@ public class TypeLiteral<T> {
         }
 
         TypeLiteral<?> that = (TypeLiteral<?>) o;
-        if (!typeName.equals(that.typeName)) {
+        if (hashCode != that.hashCode || type != that.type) {
             return false;
         }
         return Arrays.equals(argumentTypes, that.argumentTypes);
@@ -188,18 +278,20 @@ public class TypeLiteral<T> {
 
     @Override
     public int hashCode() {
-        int result = typeName.hashCode();
-        result = 31 * result + Arrays.hashCode(argumentTypes);
-        return result;
+        return hashCode;
     }
 
     @Override
     public String toString() {
-        String result = typeName;
-        if (argumentTypes.length > 0) {
-            result += Arrays.toString(argumentTypes);
+        // benign race, the name is always the same
+        String name = this.name;
+        if (name == null) {
+            name = argumentTypes.length > 0
+                    ? type.getName() + Arrays.toString(argumentTypes)
+                    : type.getName();
+            this.name = name;
         }
-        return result;
+        return name;
     }
 
     private static Type[] getArgumentTypes(Type type) {
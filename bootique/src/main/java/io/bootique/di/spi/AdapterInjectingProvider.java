@@ -0,0 +1,63 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+
+import java.util.function.Supplier;
+
+/**
+ * A provider that creates objects via a build-time generated {@link InjectionAdapter}.
+ *
+ * @since 3.0
+ */
+class AdapterInjectingProvider<T> implements NamedProvider<T> {
+
+    private final Class<? extends T> implementation;
+    private final InjectionAdapter<? extends T> adapter;
+    private final DefaultInjector injector;
+    private final Supplier<String> traceMessage;
+
+    AdapterInjectingProvider(Class<? extends T> implementation, InjectionAdapter<? extends T> adapter, DefaultInjector injector) {
+        this.implementation = implementation;
+        this.adapter = adapter;
+        this.injector = injector;
+        this.traceMessage = () -> "Invoking " + getName();
+    }
+
+    @Override
+    public T get() {
+        injector.trace(traceMessage);
+        try {
+            return adapter.newInstance(injector);
+        } catch (DIRuntimeException e) {
+            // the adapter resolves the constructor arguments via the injector, so rethrow their errors as is, the
+            // same as the reflective constructor injection does
+            throw e;
+        } catch (Throwable e) {
+            return injector.throwException("Error invoking %s", e, getName());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "generated constructor adapter of class '" + implementation.getName() + "'";
+    }
+}
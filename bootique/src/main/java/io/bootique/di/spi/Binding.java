@@ -56,11 +56,10 @@ class Binding<T> {
             scope = NoScope.INSTANCE;
         }
 
-        // TODO: what happens to the old scoped value? Seems like this leaks
-        // scope event listeners and may cause unexpected events...
-
-        this.scoped = scope.scope(original);
+        Provider<T> oldScoped = this.scoped;
+        this.scoped = scope.scope(decorated);
         this.scope = scope;
+        release(oldScoped);
     }
 
     void decorate(DefaultInjector injector, Decoration<T> decoration) {
@@ -70,17 +69,34 @@ class Binding<T> {
             return;
         }
 
-        Provider<T> provider = this.original;
+        // composing the chain around the undecorated provider, so that the result is wrapped in a trace only once
+        Provider<T> provider = original instanceof TraceableProvider
+                ? ((TraceableProvider<T>) original).unwrap()
+                : original;
+
         for (DecoratorProvider<T> decoratorProvider : decorators) {
             provider = decoratorProvider.get(provider);
         }
 
         this.decorated = injector.wrapProvider(key, provider);
 
-        // TODO: what happens to the old scoped value? Seems like this leaks
-        // scope event listeners and may cause unexpected events...
-
+        Provider<T> oldScoped = this.scoped;
         this.scoped = scope.scope(decorated);
+        release(oldScoped);
+    }
+
+    /**
+     * Releases the scoped provider of this binding when the binding is replaced with another one.
+     */
+    void release() {
+        release(scoped);
+    }
+
+    private static void release(Provider<?> scoped) {
+        // unregister replaced scoped provider from its scope
+        if (scoped instanceof ReleasableProvider) {
+            ((ReleasableProvider<?>) scoped).release();
+        }
     }
 
     Provider<T> getOriginal() {
@@ -0,0 +1,297 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Scope;
+
+import javax.inject.Provider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A scope that keeps its instances in a bounded cache shared by all the bindings in this scope. When the cache is
+ * full, the least recently used instance is evicted. Optionally instances also expire after a fixed time since their
+ * creation. Evicted instances receive the {@link BeforeScopeEnd} event, so that they can release their resources,
+ * and are created again on the next request. Useful for services that are expensive to create, but should not stay
+ * resident forever, like the singletons do.
+ *
+ * @since 3.0
+ */
+public class CachingScope implements Scope {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+
+    // keyed by scoped provider, in access order, guarded by the lock
+    private final LinkedHashMap<CachingScopeProvider<?>, Entry> entries;
+    private final ReentrantLock lock;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * Creates a scope that keeps at most "maxSize" instances, evicting the least recently used ones.
+     */
+    public CachingScope(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Creates a scope that keeps at most "maxSize" instances, evicting the least recently used ones, as well as the
+     * instances created earlier than "timeToLive" ago. A null "timeToLive" means that the instances never expire.
+     */
+    public CachingScope(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    CachingScope(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+
+        if (maxSize <= 0) {
+            throw new DIRuntimeException("Cache size must be positive: %s", maxSize);
+        }
+
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new DIRuntimeException("Time to live must be positive: %s", timeToLive);
+        }
+
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new CachingScopeProvider<>(this, unscoped);
+    }
+
+    /**
+     * Releases all the cached instances, posting {@link BeforeScopeEnd} event to each one of them. Released instances
+     * are not counted as evictions.
+     */
+    public void shutdown() {
+        List<Object> evicted;
+
+        lock.lock();
+        try {
+            evicted = new ArrayList<>(entries.size());
+            for (Entry e : entries.values()) {
+                evicted.add(e.instance);
+            }
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyScopeEnd(evicted);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of instances evicted due to the size limit or expiration.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of instances currently stored in the cache, including the expired ones that were not
+     * evicted yet.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(CachingScopeProvider<T> provider) {
+
+        List<Object> evicted = null;
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(provider);
+            if (entry != null) {
+                if (!isExpired(entry)) {
+                    hits.increment();
+                    return (T) entry.instance;
+                }
+
+                entries.remove(provider);
+                evicted = List.of(entry.instance);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        notifyEvicted(evicted);
+        return create(provider);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T create(CachingScopeProvider<T> provider) {
+
+        List<Object> evicted = null;
+        T instance;
+
+        // creating outside the cache lock, so that slow instances do not block unrelated bindings
+        provider.creationLock.lock();
+        try {
+            lock.lock();
+            try {
+                Entry entry = entries.get(provider);
+                if (entry != null && !isExpired(entry)) {
+                    // created by another thread while we were waiting
+                    hits.increment();
+                    return (T) entry.instance;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            misses.increment();
+            instance = provider.createInstance();
+
+            lock.lock();
+            try {
+                entries.put(provider, new Entry(instance, nanoClock.getAsLong()));
+                evicted = evictExcess();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            provider.creationLock.unlock();
+        }
+
+        notifyEvicted(evicted);
+        return instance;
+    }
+
+    // must be called under the lock
+    private List<Object> evictExcess() {
+        List<Object> evicted = null;
+
+        Iterator<Entry> it = entries.values().iterator();
+        int size = entries.size();
+        while (it.hasNext()) {
+            Entry e = it.next();
+
+            // removing LRU entries beyond the size limit, as well as any expired entries found along the way
+            if (size > maxSize || isExpired(e)) {
+                it.remove();
+                size--;
+
+                if (evicted == null) {
+                    evicted = new ArrayList<>(2);
+                }
+                evicted.add(e.instance);
+            } else if (timeToLiveNanos == 0) {
+                break;
+            }
+        }
+
+        return evicted;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return timeToLiveNanos > 0 && nanoClock.getAsLong() - entry.createdNanos >= timeToLiveNanos;
+    }
+
+    // events are posted outside the lock, as the listeners may call back into the DI container
+    private void notifyEvicted(List<Object> evicted) {
+        if (evicted != null) {
+            evictions.add(evicted.size());
+            notifyScopeEnd(evicted);
+        }
+    }
+
+    private void notifyScopeEnd(List<Object> instances) {
+        for (Object o : instances) {
+            ScopeEndHandlers.beforeScopeEnd(o);
+        }
+    }
+
+    private static final class Entry {
+
+        final Object instance;
+        final long createdNanos;
+
+        Entry(Object instance, long createdNanos) {
+            this.instance = instance;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    static class CachingScopeProvider<T> implements Provider<T> {
+
+        private final CachingScope scope;
+        private final Provider<T> delegate;
+
+        // not using "synchronized" to avoid pinning virtual threads
+        final ReentrantLock creationLock;
+
+        CachingScopeProvider(CachingScope scope, Provider<T> delegate) {
+            this.scope = scope;
+            this.delegate = delegate;
+            this.creationLock = new ReentrantLock();
+        }
+
+        @Override
+        public T get() {
+            return scope.get(this);
+        }
+
+        T createInstance() {
+            T instance = delegate.get();
+            if (instance == null) {
+                throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                        , DIUtil.getProviderName(delegate));
+            }
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import javax.inject.Provider;
+
+/**
+ * A provider of a Set or Map element that knows whether the element is the same on every call. Used to cache the
+ * elements of injected collections.
+ *
+ * @since 3.0
+ */
+class CollectionElementProvider<T> implements Provider<T> {
+
+    private final Provider<T> delegate;
+    private final Key<T> key;
+    private final boolean instance;
+
+    private CollectionElementProvider(Provider<T> delegate, Key<T> key, boolean instance) {
+        this.delegate = delegate;
+        this.key = key;
+        this.instance = instance;
+    }
+
+    /**
+     * Creates a provider of an element contributed as an object instance.
+     */
+    static <T> CollectionElementProvider<T> forInstance(Provider<T> delegate) {
+        return new CollectionElementProvider<>(delegate, null, true);
+    }
+
+    /**
+     * Creates a provider of an element contributed by a DI key.
+     */
+    static <T> CollectionElementProvider<T> forKey(Provider<T> delegate, Key<T> key) {
+        return new CollectionElementProvider<>(delegate, key, false);
+    }
+
+    /**
+     * Returns whether a given element provider returns the same object on every call. This is true for the instance
+     * elements and for the elements bound to the keys in the singleton scope.
+     */
+    static boolean isSingleton(Provider<?> provider, DefaultInjector injector) {
+        if (!(provider instanceof CollectionElementProvider)) {
+            return false;
+        }
+
+        CollectionElementProvider<?> elementProvider = (CollectionElementProvider<?>) provider;
+        return elementProvider.instance || injector.isSingletonBinding(elementProvider.key);
+    }
+
+    @Override
+    public T get() {
+        return delegate.get();
+    }
+}
@@ -38,7 +38,7 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
         return new ConstructorInjectingProvider<T>(implementation, injector) {
             @Override
-            protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+            protected Provider<?> argumentProvider(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
 
                 // delegate (possibly) injected as Provider
                 if (injector.getPredicates().isProviderType(parameter)) {
@@ -51,15 +51,15 @@ class ConstructorInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
                     }
 
                     if (objectClass.isAssignableFrom(implementation)) {
-                        return undecorated;
+                        return () -> undecorated;
                     }
                 }
                 // delegate injected as value
                 else if (parameter.isAssignableFrom(implementation)) {
-                    return undecorated.get();
+                    return undecorated;
                 }
 
-                return super.value(parameter, genericType, bindingAnnotation);
+                return super.argumentProvider(parameter, genericType, bindingAnnotation);
             }
         };
     }
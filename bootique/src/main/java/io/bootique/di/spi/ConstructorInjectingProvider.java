@@ -22,24 +22,41 @@ package io.bootique.di.spi;
 import io.bootique.di.Key;
 import io.bootique.di.TypeLiteral;
 
+import javax.inject.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
 
-    private final Constructor<? extends T> constructor;
+    private static final MethodType GENERIC_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final InjectionConstructor<? extends T> constructor;
     private final DefaultInjector injector;
-    private final Annotation[] bindingAnnotations;
+    private final IntFunction<String> argumentTraceMessage;
+    private final Supplier<String> invokeTraceMessage;
+
+    // resolved lazily on the first call to get(), as the constructor may reference bindings that are not there yet
+    private volatile Provider<?>[] argumentProviders;
 
     public ConstructorInjectingProvider(Class<? extends T> implementation, DefaultInjector injector) {
-        this(ConstructorInjectingProvider.findRequiredConstructor(implementation, injector), injector);
+        this(ReflectionMetadata.of(implementation, injector).<T>getConstructor(injector), injector);
     }
 
     public ConstructorInjectingProvider(Constructor<? extends T> constructor, DefaultInjector injector) {
+        this(new InjectionConstructor<>(constructor, injector), injector);
+    }
+
+    private ConstructorInjectingProvider(InjectionConstructor<? extends T> constructor, DefaultInjector injector) {
         this.constructor = constructor;
         this.injector = injector;
-        this.bindingAnnotations = collectParametersQualifiers(constructor);
+        this.argumentTraceMessage = i -> "Get argument " + i + " for " + getName();
+        this.invokeTraceMessage = () -> "Invoking " + getName();
     }
 
     static <T> Constructor<? extends T> findRequiredConstructor(Class<? extends T> implementation, DefaultInjector injector) {
@@ -87,42 +104,50 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
         return (Constructor<? extends T>) lastMatch;
     }
 
-    private Annotation[] collectParametersQualifiers(Constructor<? extends T> constructor) {
-        Annotation[] result = new Annotation[constructor.getParameterCount()];
-        Annotation[][] annotations = constructor.getParameterAnnotations();
-        for (int i = 0; i < annotations.length; i++) {
-            Annotation[] parameterAnnotations = annotations[i];
-            for (Annotation annotation : parameterAnnotations) {
-                if (injector.getPredicates().isQualifierAnnotation(annotation)) {
-                    result[i] = annotation;
-                }
-            }
-        }
-        return result;
-    }
-
     @Override
     public T get() {
 
-        Class<?>[] constructorParameters = constructor.getParameterTypes();
-        Type[] genericTypes = constructor.getGenericParameterTypes();
-        Object[] args = new Object[constructorParameters.length];
+        Provider<?>[] argumentProviders = getArgumentProviders();
+        MethodHandle constructorHandle = constructor.getHandle(injector, this);
+
+        int len = argumentProviders.length;
+        Object[] args = new Object[len];
 
-        for (int i = 0; i < constructorParameters.length; i++) {
-            final int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for " + getName());
-            args[i] = value(constructorParameters[i], genericTypes[i], bindingAnnotations[i]);
+        for (int i = 0; i < len; i++) {
+            injector.trace(argumentTraceMessage, i);
+            args[i] = argumentProviders[i].get();
         }
 
         try {
-            injector.trace(() -> "Invoking " + getName());
-            return constructor.newInstance(args);
-        } catch (Exception e) {
+            injector.trace(invokeTraceMessage);
+            @SuppressWarnings("unchecked")
+            T result = (T) constructorHandle.invokeExact(args);
+            return result;
+        } catch (Throwable e) {
             return injector.throwException("Error invoking %s", e, getName());
         }
     }
 
-    protected Object value(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
+    private Provider<?>[] getArgumentProviders() {
+        Provider<?>[] providers = argumentProviders;
+        if (providers == null) {
+            // not synchronizing, as it is safe to resolve argument providers more than once
+            Class<?>[] parameterTypes = constructor.parameterTypes;
+            int len = parameterTypes.length;
+            providers = new Provider<?>[len];
+            for (int i = 0; i < len; i++) {
+                providers[i] = argumentProvider(parameterTypes[i], constructor.genericTypes[i], constructor.bindingAnnotations[i]);
+            }
+            argumentProviders = providers;
+        }
+        return providers;
+    }
+
+    /**
+     * Creates a provider of a single constructor argument. Called once per argument, so any key calculation should
+     * happen here and not in the returned provider.
+     */
+    protected Provider<?> argumentProvider(Class<?> parameter, Type genericType, Annotation bindingAnnotation) {
 
         if (injector.getPredicates().isProviderType(parameter)) {
             Type parameterType = GenericTypesUtils.getGenericParameterType(genericType);
@@ -130,15 +155,68 @@ public class ConstructorInjectingProvider<T> implements NamedProvider<T> {
                 return injector.throwException("Constructor provider parameter %s must be "
                         + "parameterized to be usable for injection", parameter.getName());
             }
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
+            return new ProviderArgument<>(injector, Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
         } else {
-            Key<?> key = Key.get(TypeLiteral.of(genericType), bindingAnnotation);
-            return injector.getInstanceWithCycleProtection(key);
+            return new InstanceArgument<>(injector, Key.get(TypeLiteral.of(genericType), bindingAnnotation));
         }
     }
 
     @Override
     public String getName() {
-        return "constructor of class '" + constructor.getDeclaringClass().getName() + "'";
+        return "constructor of class '" + constructor.constructor.getDeclaringClass().getName() + "'";
+    }
+
+    /**
+     * Injection facts about a constructor that don't depend on the injector bindings, so they can be calculated once
+     * and shared by all the injectors via {@link ReflectionMetadata}.
+     *
+     * @since 3.0
+     */
+    static final class InjectionConstructor<T> {
+
+        private final Constructor<? extends T> constructor;
+        private final Annotation[] bindingAnnotations;
+        private final Class<?>[] parameterTypes;
+        private final Type[] genericTypes;
+
+        // resolved lazily, not synchronizing, as it is safe to resolve the handle more than once
+        private volatile MethodHandle handle;
+
+        InjectionConstructor(Constructor<? extends T> constructor, DefaultInjector injector) {
+            this.constructor = constructor;
+            this.bindingAnnotations = collectParametersQualifiers(constructor, injector);
+            this.parameterTypes = constructor.getParameterTypes();
+            this.genericTypes = constructor.getGenericParameterTypes();
+        }
+
+        private static Annotation[] collectParametersQualifiers(Constructor<?> constructor, DefaultInjector injector) {
+            Annotation[] result = new Annotation[constructor.getParameterCount()];
+            Annotation[][] annotations = constructor.getParameterAnnotations();
+            for (int i = 0; i < annotations.length; i++) {
+                Annotation[] parameterAnnotations = annotations[i];
+                for (Annotation annotation : parameterAnnotations) {
+                    if (injector.getPredicates().isQualifierAnnotation(annotation)) {
+                        result[i] = annotation;
+                    }
+                }
+            }
+            return result;
+        }
+
+        MethodHandle getHandle(DefaultInjector injector, NamedProvider<?> provider) {
+            MethodHandle handle = this.handle;
+            if (handle == null) {
+                try {
+                    handle = MethodHandles.lookup()
+                            .unreflectConstructor(constructor)
+                            .asSpreader(Object[].class, parameterTypes.length)
+                            .asType(GENERIC_CONSTRUCTOR_TYPE);
+                } catch (IllegalAccessException e) {
+                    return injector.throwException("Unable to access %s", e, provider.getName());
+                }
+                this.handle = handle;
+            }
+            return handle;
+        }
     }
 }
@@ -20,6 +20,7 @@
 package io.bootique.di.spi;
 
 import javax.inject.Provider;
+import java.util.function.Supplier;
 
 /**
  * A wrapper around a provider that itself generates providers.
@@ -29,17 +30,19 @@ class CustomProvidersProvider<T> implements NamedProvider<T> {
     private final DefaultInjector injector;
     private final Class<? extends Provider<? extends T>> providerType;
     private final Provider<Provider<? extends T>> providerOfProviders;
+    private final Supplier<String> traceMessage;
 
     CustomProvidersProvider(DefaultInjector injector, Class<? extends Provider<? extends T>> providerType, Provider<Provider<? extends T>> providerOfProviders) {
         this.injector = injector;
         this.providerType = providerType;
         this.providerOfProviders = providerOfProviders;
+        this.traceMessage = () -> "Invoking " + getName();
     }
 
     @Override
     public T get() {
         Provider<? extends T> customProvider = providerOfProviders.get();
-        injector.trace(() -> "Invoking " + getName());
+        injector.trace(traceMessage);
         return customProvider.get();
     }
 
@@ -24,6 +24,7 @@ import io.bootique.di.Scope;
 import io.bootique.di.ScopeBuilder;
 
 import javax.inject.Provider;
+import java.util.function.Supplier;
 
 /**
  * A superclass of DI List and Map builders.
@@ -44,20 +45,21 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
     protected Provider<E> createInstanceProvider(E value) {
         Provider<E> provider0 = new InstanceProvider<>(value);
         Provider<E> provider1 = new FieldInjectingProvider<>(provider0, injector);
-        if(!injector.isMethodInjectionEnabled()) {
-            return provider1;
+        if(injector.isMethodInjectionEnabled()) {
+            provider1 = new MethodInjectingProvider<>(provider1, injector);
         }
-        return new MethodInjectingProvider<>(provider1, injector);
+        return CollectionElementProvider.forInstance(provider1);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected Provider<E> createProviderProvider(Class<? extends Provider<? extends E>> providerType) {
         Key<? extends Provider<? extends E>> providerKey = Key.get(providerType);
+        Supplier<String> traceMessage = () -> "Resolving custom provider of type " + providerType;
         Provider<Provider<? extends E>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            injector.trace(traceMessage);
             if(!injector.hasProvider(providerKey)) {
                 // create new provider
-                Provider<Provider<? extends E>> provider0 = new ConstructorInjectingProvider<>(providerType, injector);
+                Provider<Provider<? extends E>> provider0 = injector.createConstructorProvider(providerType);
                 Provider<Provider<? extends E>> provider1 = new FieldInjectingProvider<>(provider0, injector);
                 if(injector.isMethodInjectionEnabled()) {
                     provider1 = new MethodInjectingProvider<>(provider1, injector);
@@ -86,7 +88,7 @@ public abstract class DICollectionBuilder<K, E> implements ScopeBuilder {
         if(!injector.hasProvider(key)) {
             injector.putBinding(key, (Provider<SubT>) null);
         }
-        return () -> injector.getInstance(key);
+        return CollectionElementProvider.forKey(() -> injector.getInstance(key), key);
     }
 
     @Override
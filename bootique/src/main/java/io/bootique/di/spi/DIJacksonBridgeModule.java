@@ -97,14 +97,10 @@ class DIJacksonBridgeModule extends SimpleModule {
 
     private ValueInstantiator jacksonFirstInstantiator(ValueInstantiator delegate) {
 
-        // TODO: not particularly efficient, as a chain of providers is created for each object
+        // member injection reuses per-class injection plans cached by the injector
         UnaryOperator<Object> postInjector = o -> {
-            Provider<?> provider0 = new InstanceProvider<>(o);
-            Provider<?> provider1 = new FieldInjectingProvider<>(provider0, injector);
-            Provider<?> provider2 = injector.isMethodInjectionEnabled()
-                    ? new MethodInjectingProvider<>(provider1, injector) : provider1;
-
-            return provider2.get();
+            injector.injectMembers(o);
+            return o;
         };
 
         return new DIJacksonDelegateInstantiator(delegate, postInjector);
@@ -24,6 +24,7 @@ import io.bootique.di.Key;
 import io.bootique.di.Scope;
 
 import javax.inject.Provider;
+import java.util.function.Supplier;
 
 class DefaultBindingBuilder<T> implements BindingBuilder<T> {
 
@@ -65,8 +66,9 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
         if(!bindingKey.equals(key)) {
             implementationKey = key;
             injector.putBinding(implementationKey, (Provider) null);
+            Supplier<String> traceMessage = () -> "Target implementation is " + implementationKey;
             addBinding(() -> {
-                injector.trace(() -> "Target implementation is " + implementationKey);
+                injector.trace(traceMessage);
                 return injector.getProvider(implementationKey).get();
             });
         }
@@ -89,15 +91,16 @@ class DefaultBindingBuilder<T> implements BindingBuilder<T> {
     @Override
     public BindingBuilder<T> toProvider(Class<? extends Provider<? extends T>> providerType) {
         // Actual provider instance is resolved lazily, so it could be bound to other implementation
+        Supplier<String> traceMessage = () -> "Resolving custom provider of type " + providerType;
         Provider<Provider<? extends T>> providerProvider = () -> {
-            injector.trace(() -> "Resolving custom provider of type " + providerType);
+            injector.trace(traceMessage);
             Binding<? extends Provider<? extends T>> binding = injector.getBinding(Key.get(providerType));
             if(binding != null) {
                 // get existing provider
                 return binding.getScoped().get();
             } else {
                 // create new provider and inject its members
-                Provider<Provider<? extends T>> provider0 = new ConstructorInjectingProvider<>(providerType, injector);
+                Provider<Provider<? extends T>> provider0 = injector.createConstructorProvider(providerType);
                 Provider<Provider<? extends T>> provider1 = new FieldInjectingProvider<>(provider0, injector);
                 if(injector.isMethodInjectionEnabled()) {
                     provider1 = new MethodInjectingProvider<>(provider1, injector);
@@ -29,6 +29,13 @@ import java.lang.reflect.Proxy;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
@@ -42,9 +49,31 @@ public class DefaultInjector implements Injector {
         DISABLE_DYNAMIC_BINDINGS,
         ENABLE_METHOD_INJECTION,
         DISABLE_TRACE,
-        DISABLE_PROXY
-    }
-
+        DISABLE_PROXY,
+
+        /**
+         * Takes an immutable snapshot of the bindings once all modules are configured and serves lookups of the
+         * configured keys from it. Dynamic bindings created later are still resolved, but via a slower path.
+         *
+         * @since 3.0
+         */
+        FREEZE_BINDINGS,
+
+        /**
+         * Materializes injected Sets and Maps once, if all their elements are singletons, and shares the resulting
+         * immutable collection. Collections with mixed elements resolve only their non-singleton elements on each
+         * injection.
+         *
+         * @since 3.0
+         */
+        CACHE_SINGLETON_COLLECTIONS
+    }
+
+    // max number of the failed dynamic binding keys remembered by the injector
+    private static final int MAX_FAILED_DYNAMIC_BINDINGS = 1024;
+
+    private final DefaultInjector parent;
+    private final Set<Options> options;
     private final DefaultScope singletonScope;
     private final Scope noScope;
 
@@ -57,22 +86,60 @@ public class DefaultInjector implements Injector {
     private final Scope defaultScope;
     private final InjectorPredicates predicates;
     private final Set<Key<?>> earlySetupSet;
-    private final Map<Class<?>, List<Key<?>>> keysByRawType;
+    private final KeysByTypeIndex keysByType;
+
+    // messages of the failed dynamic bindings, reported again without reflection on the repeated lookups
+    private final Map<Key<?>, String> failedDynamicBindings;
 
     private final boolean allowDynamicBinding;
     private final boolean allowOverride;
     private final boolean allowMethodInjection;
     private final boolean injectionTraceEnabled;
     private final boolean allowProxyCreation;
+    private final int earlySetupParallelism;
+    private final boolean freezeBindings;
+    private final boolean cacheSingletonCollections;
+
+    // a snapshot of the bindings, not null only if the FREEZE_BINDINGS option is on and the injector is initialized
+    private FrozenBindings frozenBindings;
 
     private volatile boolean isShutdown;
 
+    // set once all the modules and decorators are applied, so that the binding providers no longer change
+    private volatile boolean bindingsComplete;
+
     DefaultInjector(BQModule... modules) {
         this(Collections.emptySet(), new InjectorPredicates(), modules);
     }
 
     public DefaultInjector(Set<Options> options, InjectorPredicates predicates, BQModule... modules) {
+        this(options, predicates, 1, modules);
+    }
+
+    /**
+     * @param earlySetupParallelism max number of threads used to create services marked with
+     *                              {@link ScopeBuilder#initOnStartup()}. If 1, all such services are created on the
+     *                              calling thread.
+     * @since 3.0
+     */
+    public DefaultInjector(Set<Options> options, InjectorPredicates predicates, int earlySetupParallelism, BQModule... modules) {
+        this(null, options, predicates, earlySetupParallelism, modules);
+    }
+
+    /**
+     * @since 3.0
+     */
+    DefaultInjector(
+            DefaultInjector parent,
+            Set<Options> options,
+            InjectorPredicates predicates,
+            int earlySetupParallelism,
+            BQModule... modules) {
+
+        this.parent = parent;
+        this.options = options;
         this.predicates = predicates;
+        this.earlySetupParallelism = earlySetupParallelism;
 
         this.singletonScope = new DefaultScope();
         this.noScope = NoScope.INSTANCE;
@@ -87,6 +154,8 @@ public class DefaultInjector implements Injector {
         this.allowMethodInjection = options.contains(Options.ENABLE_METHOD_INJECTION);
         this.injectionTraceEnabled = !options.contains(Options.DISABLE_TRACE);
         this.allowProxyCreation = !options.contains(Options.DISABLE_PROXY);
+        this.freezeBindings = options.contains(Options.FREEZE_BINDINGS);
+        this.cacheSingletonCollections = options.contains(Options.CACHE_SINGLETON_COLLECTIONS);
 
         this.bindings = new ConcurrentHashMap<>();
         this.decorations = new ConcurrentHashMap<>();
@@ -94,8 +163,10 @@ public class DefaultInjector implements Injector {
         this.injectionTrace = injectionTraceEnabled ? new InjectionTrace() : null;
         this.providesHandler = new ProvidesHandler(this);
         this.binder = new DefaultBinder(this);
-        this.earlySetupSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
-        this.keysByRawType = new ConcurrentHashMap<>();
+        // preserving the order of early setup keys to have predictable init and error reporting order
+        this.earlySetupSet = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.keysByType = new KeysByTypeIndex();
+        this.failedDynamicBindings = new ConcurrentHashMap<>();
 
         // bind self for injector injection...
         binder.bind(Injector.class).toInstance(this);
@@ -109,9 +180,44 @@ public class DefaultInjector implements Injector {
         }
 
         applyDecorators();
+        this.bindingsComplete = true;
+        keysByType.freeze();
+
+        if (freezeBindings) {
+            this.frozenBindings = new FrozenBindings(bindings, predicates);
+        }
+
         earlySetup();
     }
 
+    /**
+     * @since 3.0
+     */
+    @Override
+    public Injector createChildInjector(BQModule... modules) {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+        return new DefaultInjector(this, options, predicates, earlySetupParallelism, modules);
+    }
+
+    /**
+     * @since 3.0
+     */
+    boolean isShutdown() {
+        return isShutdown;
+    }
+
+    /**
+     * Returns whether all the modules and decorators are applied. After that the providers returned by
+     * {@link #getProvider(Key)} no longer change and can be cached by the callers.
+     *
+     * @since 3.0
+     */
+    boolean isBindingsComplete() {
+        return bindingsComplete;
+    }
+
     InjectionStack getInjectionStack() {
         return injectionStack;
     }
@@ -128,13 +234,30 @@ public class DefaultInjector implements Injector {
         return predicates;
     }
 
+    /**
+     * Returns a cached plan of member injection for a given concrete class.
+     */
+    MemberInjectionPlan getInjectionPlan(Class<?> type) {
+        return ReflectionMetadata.of(type, this).getInjectionPlan(this);
+    }
+
     @SuppressWarnings("unchecked")
     <T> Binding<T> getBinding(Key<T> key) {
         if(isShutdown) {
             throwException("Injector is shutdown");
         }
+        Objects.requireNonNull(key, "Null key");
+
+        FrozenBindings frozen = this.frozenBindings;
+        if (frozen != null) {
+            Binding<T> binding = frozen.getBinding(key);
+            if (binding != null) {
+                return binding;
+            }
+        }
+
         // may return null - this is intentionally allowed in this non-public method
-        return (Binding<T>) bindings.get(Objects.requireNonNull(key, "Null key"));
+        return (Binding<T>) bindings.get(key);
     }
 
     <T> void putBinding(Key<T> bindingKey, Provider<T> provider) {
@@ -155,7 +278,10 @@ public class DefaultInjector implements Injector {
         Binding<T> binding = new Binding<>(bindingKey, wrapProvider(bindingKey, provider), defaultScope, false);
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
         if(oldBinding == null) {
-            throwException("No binding to override for key %s", bindingKey);
+            if(parent == null || !parent.hasProvider(bindingKey)) {
+                throwException("No binding to override for key %s", bindingKey);
+            }
+            keysByType.add(bindingKey);
         }
     }
 
@@ -165,12 +291,15 @@ public class DefaultInjector implements Injector {
         }
         Binding<?> oldBinding = bindings.put(bindingKey, binding);
         if(oldBinding == null) {
-            keysByRawType.computeIfAbsent(bindingKey.getType().getRawType(), type -> new ArrayList<>(1))
-                    .add(bindingKey);
+            keysByType.add(bindingKey);
         }
+        failedDynamicBindings.remove(bindingKey);
         if(!canOverride(oldBinding)) {
             throwException("Unable to override key %s. It is final and override is disabled.", bindingKey);
         }
+        if(oldBinding != null) {
+            oldBinding.release();
+        }
     }
 
     /**
@@ -220,6 +349,34 @@ public class DefaultInjector implements Injector {
         }
 
         binding.changeScope(scope);
+
+        if (scope instanceof PoolScope) {
+            putPooledBinding(bindingKey);
+        }
+    }
+
+    /**
+     * Binds Pooled&lt;T&gt; for a key in a pool scope, so that the callers could borrow instances from the pool.
+     */
+    private <T> void putPooledBinding(Key<T> bindingKey) {
+        Key<Pooled<T>> pooledKey = Key.getPooledOf(bindingKey);
+        if (bindings.containsKey(pooledKey)) {
+            return;
+        }
+
+        Provider<Pooled<T>> provider = () -> {
+            Binding<T> binding = getBinding(bindingKey);
+            if (binding == null || binding.getOriginal() == null) {
+                // resolves an implicit provider
+                getProvider(bindingKey);
+                binding = getBinding(bindingKey);
+            }
+
+            return PoolScope.lease(binding.getScoped());
+        };
+
+        // each injection of Pooled<T> is a new lease, so it is never scoped
+        putBinding(pooledKey, new Binding<>(pooledKey, wrapProvider(pooledKey, provider), noScope, false));
     }
 
     @Override
@@ -237,6 +394,21 @@ public class DefaultInjector implements Injector {
     }
 
     <T> T getInstanceWithCycleProtection(Key<T> key, boolean fromProxy) {
+        return getInstanceWithCycleProtection(key, null, fromProxy);
+    }
+
+    /**
+     * Same as {@link #getInstanceWithCycleProtection(Key)}, but uses a provider of the key resolved earlier by the
+     * caller via {@link #getProvider(Key)}, skipping the binding lookup.
+     */
+    <T> T getInstanceWithCycleProtection(Key<T> key, Provider<T> resolvedProvider) {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+        return getInstanceWithCycleProtection(key, resolvedProvider, false);
+    }
+
+    private <T> T getInstanceWithCycleProtection(Key<T> key, Provider<T> resolvedProvider, boolean fromProxy) {
         if(!injectionStack.push(key)) {
             // cycle detected in dependency
             // 1. try to create proxy
@@ -255,7 +427,7 @@ public class DefaultInjector implements Injector {
         }
 
         try {
-            return getProvider(key).get();
+            return resolvedProvider != null ? resolvedProvider.get() : getProvider(key).get();
         } finally {
             injectionStack.pop();
         }
@@ -280,7 +452,55 @@ public class DefaultInjector implements Injector {
 
     @Override
     public <T> Provider<T> getProvider(Key<T> key) {
+        return findProvider(key, true);
+    }
+
+    /**
+     * @since 3.0
+     */
+    @Override
+    public <T> Optional<Provider<T>> findProvider(Class<T> type) {
+        return findProvider(Key.get(type));
+    }
+
+    /**
+     * @since 3.0
+     */
+    @Override
+    public <T> Optional<Provider<T>> findProvider(Key<T> key) {
+        return Optional.ofNullable(findProvider(key, false));
+    }
+
+    /**
+     * Resolves a provider of a key with a single binding lookup. If the key is not bound in this injector or its
+     * parent, either creates a dynamic binding or returns null, depending on the "createIfMissing" flag.
+     */
+    private <T> Provider<T> findProvider(Key<T> key, boolean createIfMissing) {
+        FrozenBindings frozen = this.frozenBindings;
+        if (frozen != null) {
+            if (isShutdown) {
+                throwException("Injector is shutdown");
+            }
+
+            Provider<T> provider = frozen.getProvider(Objects.requireNonNull(key, "Null key"));
+            if (provider != null) {
+                return provider;
+            }
+        }
+
         Binding<T> binding = getBinding(key);
+        if (binding == null && parent != null) {
+            // keys not overridden in the child are resolved and scoped by the parent
+            Provider<T> provider = parent.findProvider(key, false);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        if (binding == null && !createIfMissing) {
+            return null;
+        }
+
         if (binding == null || binding.getOriginal() == null) {
             binding = createDynamicBinding(key);
         }
@@ -288,6 +508,49 @@ public class DefaultInjector implements Injector {
         return predicates.wrapProvider(binding.getScoped());
     }
 
+    /**
+     * Returns whether a given key is bound in the singleton scope. For the keys that are not resolved yet, predicts the
+     * scope of their dynamic binding without creating it.
+     *
+     * @since 3.0
+     */
+    boolean isSingletonBinding(Key<?> key) {
+        Binding<?> binding = getBinding(key);
+        if (binding == null && parent != null && parent.hasProvider(key)) {
+            // keys not overridden in the child are resolved and scoped by the parent
+            return parent.isSingletonBinding(key);
+        }
+
+        if (binding != null && binding.getOriginal() != null) {
+            return binding.getScope() == singletonScope;
+        }
+
+        // same scope rules as in "newDynamicBinding"
+        if (binding != null && binding.getScope() != defaultScope) {
+            return binding.getScope() == singletonScope;
+        }
+
+        Class<?> implementation = key.getType().getRawType();
+        if (implementation == Lazy.class || (binding == null && !allowDynamicBinding)) {
+            return false;
+        }
+
+        return ReflectionMetadata.of(implementation, this).isSingleton(this);
+    }
+
+    @Override
+    public <T> Provider<T> getHandle(Class<T> type) {
+        return getHandle(Key.get(type));
+    }
+
+    @Override
+    public <T> Provider<T> getHandle(Key<T> key) {
+        if (isShutdown) {
+            throwException("Injector is shutdown");
+        }
+        return new InjectorHandle<>(this, Objects.requireNonNull(key, "Null key"));
+    }
+
     @Override
     public boolean hasProvider(Class<?> type) {
         return hasProvider(Key.get(type));
@@ -295,33 +558,99 @@ public class DefaultInjector implements Injector {
 
     @Override
     public boolean hasProvider(Key<?> key) {
-        return getBinding(key) != null;
+        return getBinding(key) != null || (parent != null && parent.hasProvider(key));
     }
 
     @SuppressWarnings("unchecked")
     private <T> Binding<T> createDynamicBinding(Key<T> key) {
-        // Compute new bindings for given key
-        return (Binding<T>) bindings.compute(key, (k, oldBinding) -> {
-            if(oldBinding == null && !allowDynamicBinding) {
-                throwException("DI container has no binding for key %s and dynamic bindings are disabled.", key);
-            }
+        String failure = failedDynamicBindings.get(key);
+        if (failure != null) {
+            // the key was already tried and can't be resolved, so fail fast, skipping reflection
+            return throwException("%s", failure);
+        }
 
-            if(oldBinding != null && oldBinding.getOriginal() != null) {
-                return oldBinding;
+        // preparing a new binding outside of "compute", as the reflection may be slow, and it shouldn't block other
+        // keys of the same map bin
+        Binding<T> newBinding;
+        try {
+            newBinding = newDynamicBinding(key, (Binding<T>) bindings.get(key));
+        } catch (DIRuntimeException e) {
+            // before the bindings are complete, the key may yet get bound, so only caching failures after that
+            if (bindingsComplete && failedDynamicBindings.size() < MAX_FAILED_DYNAMIC_BINDINGS) {
+                failedDynamicBindings.putIfAbsent(key, e.getOriginalMessage());
             }
+            throw e;
+        }
 
-            Class<T> implementation = (Class<T>)key.getType().getRawType();
-            Provider<T> provider = new ConstructorInjectingProvider<>(implementation, this);
+        Binding<T> binding = (Binding<T>) bindings.compute(key, (k, oldBinding) ->
+                oldBinding != null && oldBinding.getOriginal() != null ? oldBinding : newBinding);
 
-            Scope scope = defaultScope;
-            if(oldBinding != null && oldBinding.getScope() != defaultScope) {
-                scope = oldBinding.getScope();
-            } else if(getPredicates().isSingleton(implementation)) {
-                scope = singletonScope;
-            }
+        if (binding != newBinding) {
+            // lost a race to another thread resolving the same key
+            newBinding.release();
+        }
+
+        return binding;
+    }
 
-            return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false);
-        });
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Binding<T> newDynamicBinding(Key<T> key, Binding<T> oldBinding) {
+        if(oldBinding == null && key.getType().getRawType() == Lazy.class) {
+            // Lazy<T> is derived from the binding of T, so it is allowed even if dynamic bindings are disabled
+            return createLazyBinding((Key) key);
+        }
+
+        if(oldBinding == null && !allowDynamicBinding) {
+            throwException("DI container has no binding for key %s and dynamic bindings are disabled.", key);
+        }
+
+        Class<T> implementation = (Class<T>)key.getType().getRawType();
+        Provider<T> provider = createConstructorProvider(implementation);
+
+        Scope scope = defaultScope;
+        if(oldBinding != null && oldBinding.getScope() != defaultScope) {
+            scope = oldBinding.getScope();
+        } else if(ReflectionMetadata.of(implementation, this).isSingleton(this)) {
+            scope = singletonScope;
+        }
+
+        return new Binding<>(key, wrapInMemberInjectionProviders(key, provider), scope, false);
+    }
+
+    private <T> Binding<Lazy<T>> createLazyBinding(Key<Lazy<T>> lazyKey) {
+        TypeLiteral<T> type;
+        try {
+            @SuppressWarnings("unchecked")
+            TypeLiteral<T> argumentType = (TypeLiteral<T>) lazyKey.getType().getArgumentType(0);
+            type = argumentType;
+        } catch (IndexOutOfBoundsException e) {
+            return throwException("Lazy injection of %s must be parameterized to be usable for injection", lazyKey);
+        }
+
+        Key<T> key = lazyKey.withType(type);
+
+        // each injection point gets its own memoized instance
+        Provider<Lazy<T>> provider = () -> new MemoizedLazy<>(this, key);
+        return new Binding<>(lazyKey, wrapProvider(lazyKey, provider), noScope, false);
+    }
+
+    /**
+     * Creates a provider that instantiates a given class either via a generated adapter, if available, or via its
+     * injectable constructor.
+     */
+    <T> Provider<T> createConstructorProvider(Class<? extends T> implementation) {
+        InjectionAdapter<? extends T> adapter = getInjectionAdapter(implementation);
+        return adapter != null
+                ? new AdapterInjectingProvider<>(implementation, adapter, this)
+                : new ConstructorInjectingProvider<>(implementation, this);
+    }
+
+    /**
+     * Returns a build-time generated injection adapter for a given class or null if there's none or generated adapters
+     * can't be used with this injector.
+     */
+    <T> InjectionAdapter<T> getInjectionAdapter(Class<T> type) {
+        return predicates.canUseGeneratedAdapters() ? GeneratedAdapters.injectionAdapter(type) : null;
     }
 
     private <T> Provider<T> wrapInMemberInjectionProviders(Key<T> key, Provider<T> provider) {
@@ -346,17 +675,47 @@ public class DefaultInjector implements Injector {
             return;
         }
         isShutdown = true;
+        frozenBindings = null;
         singletonScope.shutdown();
         bindings.clear();
         decorations.clear();
         injectionStack.reset();
-        keysByRawType.clear();
+        keysByType.clear();
+        failedDynamicBindings.clear();
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public <T> Collection<Key<T>> getKeysByType(Class<T> type) {
-        return (List)keysByRawType.getOrDefault(type, Collections.emptyList());
+        List keys = keysByType.getKeysByType(type);
+        return parent != null ? withParentKeys(parent.getKeysByType(type), keys) : keys;
+    }
+
+    /**
+     * @since 3.0
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public <T> Collection<Key<? extends T>> getKeysAssignableTo(Class<T> type) {
+        List keys = keysByType.getKeysAssignableTo(type);
+        return parent != null ? withParentKeys(parent.getKeysAssignableTo(type), keys) : keys;
+    }
+
+    /**
+     * Appends own keys to the parent keys, skipping the keys overridden in this injector.
+     */
+    private static <K> Collection<K> withParentKeys(Collection<K> parentKeys, Collection<K> ownKeys) {
+        if (ownKeys.isEmpty()) {
+            return parentKeys;
+        }
+
+        if (parentKeys.isEmpty()) {
+            return ownKeys;
+        }
+
+        Set<K> keys = new LinkedHashSet<>(parentKeys);
+        keys.addAll(ownKeys);
+        return Collections.unmodifiableSet(keys);
     }
 
     DefaultScope getSingletonScope() {
@@ -375,6 +734,13 @@ public class DefaultInjector implements Injector {
         return allowMethodInjection;
     }
 
+    /**
+     * @since 3.0
+     */
+    boolean isCollectionCachingEnabled() {
+        return cacheSingletonCollections && bindingsComplete;
+    }
+
     boolean isInjectionTraceEnabled() {
         return injectionTraceEnabled;
     }
@@ -406,10 +772,51 @@ public class DefaultInjector implements Injector {
      * Init all services that a marked for early setup
      */
     private void earlySetup() {
-        earlySetupSet.forEach(this::getInstance);
+        if (earlySetupParallelism > 1 && earlySetupSet.size() > 1) {
+            parallelEarlySetup();
+        } else {
+            earlySetupSet.forEach(this::getInstance);
+        }
         earlySetupSet.clear();
     }
 
+    /**
+     * Creates early setup services on a bounded thread pool. Services that share dependencies are synchronized by the
+     * singleton scope, so the total time is about the time of the slowest dependency chain. Any failure, including a
+     * conflict between singletons depending on each other and created in different threads, is not reported right
+     * away. Instead, the failed keys are resolved again sequentially in the original order, so that errors and
+     * their traces are the same as without parallel setup.
+     */
+    private void parallelEarlySetup() {
+
+        List<Key<?>> keys = new ArrayList<>(earlySetupSet);
+        int threads = Math.min(earlySetupParallelism, keys.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new EarlySetupThreadFactory());
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(keys.size());
+            for (Key<?> key : keys) {
+                futures.add(executor.submit(() -> getInstance(key)));
+            }
+
+            List<Key<?>> failed = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    failed.add(keys.get(i));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throwException("Interrupted while creating services marked for early setup");
+                }
+            }
+
+            failed.forEach(this::getInstance);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Wraps provider in traceable provider if trace is enabled
      */
@@ -430,6 +837,19 @@ public class DefaultInjector implements Injector {
         }
     }
 
+    /**
+     * Same as {@link #trace(Supplier)}, but allows callers to reuse a single message object for a number of
+     * indexed steps (e.g. constructor arguments) without allocating per step.
+     *
+     * @param message trace message function
+     * @param argument trace message function argument
+     */
+    void trace(IntFunction<String> message, int argument) {
+        if (injectionTraceEnabled) {
+            injectionTrace.updateMessage(message, argument);
+        }
+    }
+
     /**
      * Push currently resolving key into trace stack
      * @param key that is resolving
@@ -509,15 +929,19 @@ public class DefaultInjector implements Injector {
             return ex;
         }
 
-        InjectionTraceElement[] traceElements = new InjectionTraceElement[injectionTrace.size()];
-        InjectionTraceElement element;
-        int i = 0;
-        while((element = injectionTrace.pop()) != null) {
-            traceElements[i++] = element;
-        }
-
-        ex.setInjectionTrace(traceElements);
+        ex.setInjectionTrace(injectionTrace.drain());
         return ex;
     }
 
+    private static class EarlySetupThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "bootique-early-setup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
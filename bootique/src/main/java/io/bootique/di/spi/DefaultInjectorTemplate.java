@@ -0,0 +1,67 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.BQModule;
+import io.bootique.di.Injector;
+import io.bootique.di.InjectorTemplate;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A default implementation of {@link InjectorTemplate} that creates {@link DefaultInjector} instances. Only stores
+ * the options and the modules. Reflection metadata of the module classes is cached in {@link ReflectionMetadata} for
+ * all the injectors, not just the ones created from a template.
+ *
+ * @since 3.0
+ */
+public class DefaultInjectorTemplate implements InjectorTemplate {
+
+    private final Set<DefaultInjector.Options> options;
+    private final InjectorPredicates predicates;
+    private final int earlySetupParallelism;
+    private final BQModule[] modules;
+
+    public DefaultInjectorTemplate(
+            Set<DefaultInjector.Options> options,
+            InjectorPredicates predicates,
+            int earlySetupParallelism,
+            BQModule... modules) {
+
+        // copy options, so that changes to the builder don't affect the template
+        this.options = options.isEmpty()
+                ? EnumSet.noneOf(DefaultInjector.Options.class)
+                : EnumSet.copyOf(options);
+        this.predicates = predicates;
+        this.earlySetupParallelism = earlySetupParallelism;
+        this.modules = modules != null ? modules.clone() : new BQModule[0];
+    }
+
+    @Override
+    public Injector createInjector() {
+        return createInjector(modules);
+    }
+
+    @Override
+    public Injector createInjector(BQModule... modules) {
+        return new DefaultInjector(null, options, predicates, earlySetupParallelism, modules);
+    }
+}
@@ -24,13 +24,16 @@ import io.bootique.di.Scope;
 
 import javax.inject.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * An implementation of a DI scopes with support scope events.
@@ -40,7 +43,18 @@ public class DefaultScope implements Scope {
     private static final String SPECIAL_EVENT = AfterScopeEnd.class.getName();
 
     protected final Collection<Class<? extends Annotation>> eventTypes;
-    protected final Map<String, Collection<ScopeEventBinding>> listeners;
+    private final Map<String, ScopeEventListeners> listeners;
+
+    // per-class handlers of the standard events, shared by all the scopes without custom event types
+    private static final ClassValue<EventHandler[]> STANDARD_EVENT_HANDLERS = new ClassValue<>() {
+        @Override
+        protected EventHandler[] computeValue(Class<?> type) {
+            return findEventHandlers(type, List.of(BeforeScopeEnd.class, AfterScopeEnd.class));
+        }
+    };
+
+    // per-class event handler methods, calculated once for each class of the scoped objects
+    private final ClassValue<EventHandler[]> eventHandlers;
 
     @SafeVarargs
     public DefaultScope(Class<? extends Annotation>... customEventTypes) {
@@ -60,8 +74,17 @@ public class DefaultScope implements Scope {
         }
 
         for (Class<? extends Annotation> type : eventTypes) {
-            listeners.put(type.getName(), new ConcurrentLinkedQueue<>());
+            listeners.put(type.getName(), new ScopeEventListeners());
         }
+
+        this.eventHandlers = customEventTypes == null || customEventTypes.length == 0
+                ? STANDARD_EVENT_HANDLERS
+                : new ClassValue<>() {
+                    @Override
+                    protected EventHandler[] computeValue(Class<?> type) {
+                        return findEventHandlers(type, eventTypes);
+                    }
+                };
     }
 
     /**
@@ -80,60 +103,115 @@ public class DefaultScope implements Scope {
      * Registers annotated methods of an arbitrary object for this scope lifecycle events.
      */
     public void addScopeEventListener(Object object) {
+        for (EventHandler handler : eventHandlers.get(object.getClass())) {
+            listeners.get(handler.eventType).add(object, new ScopeEventBinding(object, handler.method, handler.handle));
+        }
+    }
+
+    private static EventHandler[] findEventHandlers(Class<?> type, Collection<Class<? extends Annotation>> eventTypes) {
 
-        // TODO: cache metadata for non-singletons scopes for performance
+        List<EventHandler> handlers = new ArrayList<>();
 
         // 'getMethods' grabs public method from the class and its superclasses...
-        for (Method method : object.getClass().getMethods()) {
+        for (Method method : type.getMethods()) {
 
             for (Class<? extends Annotation> annotationType : eventTypes) {
 
                 if (method.isAnnotationPresent(annotationType)) {
-                    String typeName = annotationType.getName();
-
-                    Collection<ScopeEventBinding> eventListeners = listeners.get(typeName);
-                    eventListeners.add(new ScopeEventBinding(object, method));
+                    handlers.add(new EventHandler(annotationType.getName(), method));
                 }
             }
         }
+
+        return handlers.toArray(new EventHandler[0]);
     }
 
+    /**
+     * Unregisters an object from all the scope lifecycle events it was registered for, without scanning
+     * the registered listeners.
+     */
     public void removeScopeEventListener(Object object) {
-
-        // TODO: 2 level-deep full scan will not be very efficient for short scopes. Right
-        // now this would only affect the unit test scope, but if we start creating the
-        // likes of HTTP request scope, we may need to create a faster listener
-        // removal algorithm.
-
-        for (Entry<String, Collection<ScopeEventBinding>> entry : listeners.entrySet()) {
+        for (Entry<String, ScopeEventListeners> entry : listeners.entrySet()) {
 
             if (SPECIAL_EVENT.equals(entry.getKey())) {
-                // no scanning and removal of Scope providers ...
-                // for faster scan skip those
+                // no removal of Scope providers ...
                 continue;
             }
 
-            entry.getValue().removeIf(binding -> binding.getObject() == object);
+            entry.getValue().remove(object);
         }
     }
 
     /**
-     * Posts a scope event to all registered listeners. There's no predetermined order of
-     * event dispatching. An exception thrown by any of the listeners stops further event
+     * Unregisters an object from all the events, including the internal ones used by the scoped providers.
+     *
+     * @since 3.0
+     */
+    void removeAllScopeEventListeners(Object object) {
+        for (ScopeEventListeners eventListeners : listeners.values()) {
+            eventListeners.remove(object);
+        }
+    }
+
+    /**
+     * Posts a scope event to all registered listeners in the order of their registration.
+     * An exception thrown by any of the listeners stops further event
      * processing and is rethrown.
      */
     public void postScopeEvent(Class<? extends Annotation> type, Object... eventParameters) {
 
-        Collection<ScopeEventBinding> eventListeners = listeners.get(type.getName());
+        ScopeEventListeners eventListeners = listeners.get(type.getName());
 
         if (eventListeners != null) {
-            // remove listeners that were garbage collected
-            eventListeners.removeIf(listener -> !listener.onScopeEvent(eventParameters));
+            eventListeners.post(eventParameters);
         }
     }
 
+    /**
+     * Returns a read-only snapshot of the registered event listeners keyed by the event annotation class name, the
+     * same structure as the "listeners" field that used to be accessible to the subclasses. Changes to the returned
+     * map are not possible and are not reflected in the scope.
+     *
+     * @since 3.0
+     * @deprecated listeners should only be managed via {@link #addScopeEventListener(Object)},
+     * {@link #removeScopeEventListener(Object)} and {@link #postScopeEvent(Class, Object...)}.
+     */
+    @Deprecated(since = "3.0", forRemoval = true)
+    protected Map<String, Collection<ScopeEventBinding>> getListeners() {
+        Map<String, Collection<ScopeEventBinding>> snapshot = new HashMap<>();
+        listeners.forEach((type, eventListeners) ->
+                snapshot.put(type, Collections.unmodifiableList(eventListeners.bindings())));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the number of objects currently registered for a given event type.
+     *
+     * @since 3.0
+     */
+    int getListenersCount(Class<? extends Annotation> type) {
+        ScopeEventListeners eventListeners = listeners.get(type.getName());
+        return eventListeners != null ? eventListeners.size() : 0;
+    }
+
     @Override
     public <T> Provider<T> scope(Provider<T> unscoped) {
         return new DefaultScopeProvider<>(this, unscoped);
     }
+
+    /**
+     * An annotated event handler method of a class and the event type it handles.
+     */
+    private static class EventHandler {
+
+        final String eventType;
+        final Method method;
+        final MethodHandle handle;
+
+        EventHandler(String eventType, Method method) {
+            this.eventType = eventType;
+            this.method = method;
+            this.handle = ScopeEventBinding.createHandle(method);
+        }
+    }
 }
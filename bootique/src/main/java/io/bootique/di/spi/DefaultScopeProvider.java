@@ -22,16 +22,32 @@ package io.bootique.di.spi;
 import io.bootique.di.DIRuntimeException;
 
 import javax.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
- * A provider that provides scoping for other providers.
+ * A provider that provides scoping for other providers. The scoped instance is created by a single thread. Other
+ * threads requesting it at the same time wait for the creation to finish, and once the instance is published, reads
+ * are lock-free. If threads creating different instances end up waiting for each other, one of them fails with an
+ * exception instead of a deadlock.
  */
-public class DefaultScopeProvider<T> implements Provider<T> {
+public class DefaultScopeProvider<T> implements ReleasableProvider<T> {
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(DefaultScopeProvider.class, "state", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     private final Provider<T> delegate;
     private final DefaultScope scope;
 
-    private volatile T instance;
+    // either null, an InstanceCreation marker or the scoped instance, accessed via STATE
+    private Object state;
 
     public DefaultScopeProvider(DefaultScope scope, Provider<T> delegate) {
         this.scope = scope;
@@ -40,34 +56,73 @@ public class DefaultScopeProvider<T> implements Provider<T> {
         scope.addScopeEventListener(this);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public T get() {
-        T localInstance = instance;
-        if (localInstance == null) {
-            synchronized (this) {
-                localInstance = instance;
-                if (localInstance == null) {
-                    localInstance = instance = delegate.get();
-                    if (localInstance == null) {
-                        // TODO: can we use injector.throwException() here?
-                        throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
-                                , DIUtil.getProviderName(delegate));
-                    }
-
-                    scope.addScopeEventListener(localInstance);
+        while (true) {
+            Object localState = STATE.getAcquire(this);
+
+            if (localState == null) {
+                InstanceCreation creation = new InstanceCreation();
+                if (STATE.compareAndSet(this, null, creation)) {
+                    return create(creation);
                 }
+            } else if (localState instanceof InstanceCreation) {
+                InstanceCreation creation = (InstanceCreation) localState;
+                if (creation.thread == Thread.currentThread()) {
+                    // reentrant call from the provider being created, not publishing the result, same as
+                    // earlier synchronized versions of this provider
+                    return createInstance();
+                }
+
+                creation.await(delegate);
+            } else {
+                return (T) localState;
             }
         }
+    }
+
+    private T create(InstanceCreation creation) {
+        T localInstance;
+        try {
+            localInstance = createInstance();
+        } catch (Throwable th) {
+            // let other threads retry
+            STATE.setRelease(this, null);
+            creation.done();
+            throw th;
+        }
 
+        STATE.setRelease(this, localInstance);
+        creation.done();
+
+        scope.addScopeEventListener(localInstance);
+        return localInstance;
+    }
+
+    private T createInstance() {
+        T localInstance = delegate.get();
+        if (localInstance == null) {
+            // TODO: can we use injector.throwException() here?
+            throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                    , DIUtil.getProviderName(delegate));
+        }
         return localInstance;
     }
 
+    @Override
+    public void release() {
+        if (STATE.getAcquire(this) == null) {
+            scope.removeAllScopeEventListeners(this);
+        }
+    }
+
     @AfterScopeEnd
     public void afterScopeEnd() throws Exception {
-        Object localInstance = instance;
+        Object localInstance = STATE.getAcquire(this);
 
-        if (localInstance != null) {
-            instance = null;
+        if (localInstance != null && !(localInstance instanceof InstanceCreation)) {
+            STATE.setRelease(this, null);
             scope.removeScopeEventListener(localInstance);
         }
     }
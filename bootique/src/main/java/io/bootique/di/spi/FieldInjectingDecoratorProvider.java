@@ -19,11 +19,9 @@
 
 package io.bootique.di.spi;
 
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.MemberInjectionPlan.FieldInjectionPoint;
 
 import javax.inject.Provider;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 
 class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
 
@@ -43,26 +41,24 @@ class FieldInjectingDecoratorProvider<T> implements DecoratorProvider<T> {
         return new FieldInjectingProvider<T>(delegate.get(undecorated), injector) {
 
             @Override
-            protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
-                // delegate (possibly) injected as Provider
-                if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
-
-                    Class<?> objectClass = GenericTypesUtils.parameterClass(field.getGenericType());
-
-                    if (objectClass == null) {
-                        return injector.throwException("Provider field %s.%s of type %s must be "
-                                + "parameterized to be usable for injection", field.getDeclaringClass().getName(),
-                                field.getName(), fieldType.getRawType().getName());
-                    }
+            protected boolean canUseAdapter() {
+                // the decorated delegate must be injected in place of the matching fields
+                return false;
+            }
 
-                    if(objectClass.isAssignableFrom(implementation)) {
+            @Override
+            protected Object value(FieldInjectionPoint field) {
+                // delegate (possibly) injected as Provider
+                if (field.isProvider()) {
+                    Class<?> objectClass = GenericTypesUtils.parameterClass(field.getField().getGenericType());
+                    if (objectClass != null && objectClass.isAssignableFrom(implementation)) {
                         return undecorated;
                     }
-                } else if (fieldType.getRawType().isAssignableFrom(implementation)) {
+                } else if (field.getType().getRawType().isAssignableFrom(implementation)) {
                     return undecorated.get();
                 }
 
-                return super.value(field, fieldType, bindingAnnotation);
+                return super.value(field);
             }
         };
     }
@@ -19,13 +19,10 @@
 
 package io.bootique.di.spi;
 
-import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.spi.MemberInjectionPlan.FieldInjectionPoint;
 
 import javax.inject.Provider;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.*;
-import java.util.function.Predicate;
 
 class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
 
@@ -36,73 +33,63 @@ class FieldInjectingProvider<T> extends MemberInjectingProvider<T> {
     @Override
     protected void injectMembers(T object, Class<?> type) {
 
-        // bail on recursion stop condition
-        if (type == Object.class) {
+        MemberInjectionPlan plan = injector.getInjectionPlan(type);
+
+        InjectionAdapter<?> adapter = plan.getAdapter();
+        if (adapter != null && canUseAdapter()) {
+            injectWithAdapter(object, adapter, plan);
             return;
         }
 
-        injectMembers(object, type.getSuperclass());
-
-        Predicate<AccessibleObject> injectPredicate = injector.getPredicates().getInjectPredicate();
-
-        for (Field field : type.getDeclaredFields()) {
-            if(Modifier.isStatic(field.getModifiers())) {
-                // skip static fields completely
-                continue;
-            }
-
-            if (injectPredicate.test(field)) {
-                injectMember(object, field, getQualifier(field));
-            }
+        for (FieldInjectionPoint field : plan.getFields(injector)) {
+            injectMember(object, field);
         }
     }
 
-    private void injectMember(Object object, Field field, Annotation bindingAnnotation) {
+    /**
+     * Returns whether a generated adapter can be used instead of the per-field injection. Subclasses that customize
+     * field values must return false.
+     */
+    protected boolean canUseAdapter() {
+        return true;
+    }
 
-        injector.trace(() -> "Injecting field '" + field.getName() + "' of class " + field.getDeclaringClass().getName());
+    @SuppressWarnings("unchecked")
+    private void injectWithAdapter(Object object, InjectionAdapter<?> adapter, MemberInjectionPlan plan) {
 
-        TypeLiteral<?> fieldType = getFieldType(object, field);
-        Object value = value(field, fieldType, bindingAnnotation);
+        injector.trace(plan.getAdapterTraceMessage());
 
-        field.setAccessible(true);
         try {
-            field.set(object, value);
-        } catch (Exception e) {
-            injector.throwException("Error injecting into field %s.%s of type %s"
-                    , e, field.getDeclaringClass().getName(), field.getName(), field.getType().getName());
+            ((InjectionAdapter<Object>) adapter).injectMembers(object, injector);
+        } catch (DIRuntimeException e) {
+            // errors resolving the field values are rethrown as is, the same as in the per-field injection
+            throw e;
+        } catch (Throwable e) {
+            injector.throwException("Error injecting into fields of class %s", e, object.getClass().getName());
         }
     }
 
-    protected Object value(Field field, TypeLiteral<?> fieldType, Annotation bindingAnnotation) {
-        if (injector.getPredicates().isProviderType(fieldType.getRawType())) {
-            Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
+    private void injectMember(Object object, FieldInjectionPoint field) {
 
-            if (parameterType == null) {
-                injector.throwException("Provider field %s.%s must be parameterized to be usable for injection"
-                        , field.getDeclaringClass().getName(), field.getName());
-            }
+        injector.trace(field.getTraceMessage());
 
-            return injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
-        } else {
-            Key<?> key = Key.get(fieldType, bindingAnnotation);
-            return injector.getInstanceWithCycleProtection(key);
-        }
-    }
+        Object value = value(field);
 
-    private TypeLiteral<?> getFieldType(Object object, Field field) {
-        Type genericType = field.getGenericType();
-        // field is defined as some generic type that should be provided by its defining class
-        if(genericType instanceof TypeVariable) {
-            Class<?> objectClass = object.getClass();
-            TypeLiteral<?> typeLiteral = GenericTypesUtils.resolveVariableType(objectClass, field, genericType);
-            if(typeLiteral == null) {
-                return injector.throwException("Unable to resolve type parameter %s for the field %s type %s "
-                        , genericType.getTypeName(), field.getName(), objectClass.getName());
-            }
-            return typeLiteral;
+        try {
+            field.set(object, value);
+        } catch (Throwable e) {
+            injector.throwException("Error injecting into field %s.%s of type %s"
+                    , e
+                    , field.getField().getDeclaringClass().getName()
+                    , field.getField().getName()
+                    , field.getField().getType().getName());
         }
+    }
 
-        return TypeLiteral.of(genericType);
+    protected Object value(FieldInjectionPoint field) {
+        return field.isProvider()
+                ? injector.getProvider(field.getKey())
+                : injector.getInstanceWithCycleProtection(field.getKey());
     }
 
     @Override
@@ -0,0 +1,98 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import javax.inject.Provider;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the injector bindings, taken after all the modules are configured. Lookups are done in
+ * an open addressing table indexed by precomputed key hash codes, and the providers returned to the callers are
+ * resolved and wrapped once, so repeated lookups of the same key return the same provider instance.
+ *
+ * @since 3.0
+ */
+final class FrozenBindings {
+
+    private final Key<?>[] keys;
+    private final Binding<?>[] bindings;
+    private final Provider<?>[] providers;
+    private final int mask;
+
+    FrozenBindings(Map<Key<?>, Binding<?>> bindings, InjectorPredicates predicates) {
+
+        // keep the load factor at or below 0.5 to keep probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(bindings.size(), 1) * 2 - 1) << 1;
+
+        this.keys = new Key<?>[capacity];
+        this.bindings = new Binding<?>[capacity];
+        this.providers = new Provider<?>[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<Key<?>, Binding<?>> e : bindings.entrySet()) {
+            Binding<?> binding = e.getValue();
+
+            // placeholders of implementation keys are resolved dynamically on first access
+            if (binding.getOriginal() == null) {
+                continue;
+            }
+
+            int i = slot(e.getKey());
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = e.getKey();
+            this.bindings[i] = binding;
+            providers[i] = predicates.wrapProvider(binding.getScoped());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Binding<T> getBinding(Key<T> key) {
+        int i = indexOf(key);
+        return i >= 0 ? (Binding<T>) bindings[i] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Provider<T> getProvider(Key<T> key) {
+        int i = indexOf(key);
+        return i >= 0 ? (Provider<T>) providers[i] : null;
+    }
+
+    private int indexOf(Key<?> key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Key<?> k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (k == key || k.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    private int slot(Key<?> key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
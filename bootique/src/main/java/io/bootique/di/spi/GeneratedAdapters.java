@@ -0,0 +1,101 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+/**
+ * Locates build-time generated injection adapters and provider method indexes. Lookup results (including the
+ * negative ones) are cached per class for the lifetime of the class.
+ *
+ * @since 3.0
+ */
+final class GeneratedAdapters {
+
+    static final String INJECTION_ADAPTER_SUFFIX = "_BQInjectionAdapter";
+    static final String PROVIDES_INDEX_SUFFIX = "_BQProvidesIndex";
+
+    private static final Object NO_ADAPTER = new Object();
+
+    private static final ClassValue<Object> INJECTION_ADAPTERS = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return load(type, INJECTION_ADAPTER_SUFFIX, InjectionAdapter.class);
+        }
+    };
+
+    private static final ClassValue<Object> PROVIDES_INDEXES = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return load(type, PROVIDES_INDEX_SUFFIX, ProvidesIndex.class);
+        }
+    };
+
+    private GeneratedAdapters() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> InjectionAdapter<T> injectionAdapter(Class<T> type) {
+        Object adapter = INJECTION_ADAPTERS.get(type);
+        return adapter != NO_ADAPTER ? (InjectionAdapter<T>) adapter : null;
+    }
+
+    static ProvidesIndex providesIndex(Class<?> moduleType) {
+        Object index = PROVIDES_INDEXES.get(moduleType);
+        return index != NO_ADAPTER ? (ProvidesIndex) index : null;
+    }
+
+    /**
+     * Returns a name of the generated class for a given type. E.g. "org.example.Outer$Inner" becomes
+     * "org.example.Outer$Inner" + suffix.
+     */
+    static String adapterName(Class<?> type, String suffix) {
+        return type.getName() + suffix;
+    }
+
+    private static Object load(Class<?> type, String suffix, Class<?> adapterType) {
+
+        // adapters are never generated for these
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null
+                || type.isSynthetic()
+                || type.isAnonymousClass()
+                || type.isLocalClass()
+                || type.isInterface()
+                || type.isArray()) {
+            return NO_ADAPTER;
+        }
+
+        Class<?> adapterClass;
+        try {
+            adapterClass = Class.forName(adapterName(type, suffix), true, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return NO_ADAPTER;
+        }
+
+        if (!adapterType.isAssignableFrom(adapterClass)) {
+            return NO_ADAPTER;
+        }
+
+        try {
+            return adapterClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return NO_ADAPTER;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Injector;
+
+/**
+ * An object that creates instances of a given class and injects their fields without using reflection. Adapters are
+ * generated at build time by the optional "bootique-di-processor" annotation processor. When an adapter is present for
+ * a class, the injector prefers it to reflection. Adapters are only used when the injector is running with the default
+ * set of annotation predicates.
+ *
+ * @param <T> type of adapted objects
+ * @since 3.0
+ */
+public interface InjectionAdapter<T> {
+
+    /**
+     * Creates a new instance of the adapted class, resolving constructor arguments via the provided injector.
+     */
+    T newInstance(Injector injector);
+
+    /**
+     * Injects all the injectable fields of an object, including the fields declared in superclasses.
+     */
+    void injectMembers(T object, Injector injector);
+}
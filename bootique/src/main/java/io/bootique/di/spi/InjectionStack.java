@@ -21,58 +21,147 @@ package io.bootique.di.spi;
 
 import io.bootique.di.Key;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * A helper object that tracks the injection stack to prevent circular dependencies.
+ * A helper object that tracks the injection stack to prevent circular dependencies. Each thread has its own
+ * array-backed stack with a hash index of the keys on it, so pushing a key is O(1) regardless of the graph depth and
+ * doesn't allocate once the stack has grown to its working size. Virtual threads don't keep the stack between
+ * resolutions.
  */
 class InjectionStack {
 
-    private final ThreadLocal<LinkedList<Key<?>>> stack;
+    private final ThreadLocal<Frames> stack;
 
     InjectionStack() {
-        this.stack = new ThreadLocal<>();
+        this.stack = ThreadLocal.withInitial(Frames::new);
     }
 
     void reset() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.clear();
-        }
+        stack.remove();
     }
 
     boolean push(Key<?> bindingKey) {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack == null) {
-            localStack = new LinkedList<>();
-            stack.set(localStack);
-        }
-
-        if (localStack.contains(bindingKey)) {
-            return false;
-        }
-
-        localStack.add(bindingKey);
-        return true;
+        return stack.get().push(bindingKey);
     }
 
     void pop() {
-        LinkedList<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            localStack.removeLast();
-        } else {
-            throw new IndexOutOfBoundsException("0");
+        Frames frames = stack.get();
+        frames.pop();
+
+        if (frames.size == 0 && VirtualThreads.isCurrentThreadVirtual()) {
+            stack.remove();
         }
     }
 
     @Override
     public String toString() {
-        List<Key<?>> localStack = stack.get();
-        if (localStack != null) {
-            return String.valueOf(localStack);
-        } else {
-            return "[]";
+        return stack.get().toString();
+    }
+
+    private static final class Frames {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        // keys in the push order
+        private Key<?>[] keys;
+        private int size;
+
+        // open addressing hash index of the keys above, always at least twice as large as "keys"
+        private Key<?>[] index;
+
+        Frames() {
+            this.keys = new Key<?>[INITIAL_CAPACITY];
+            this.index = new Key<?>[INITIAL_CAPACITY * 2];
+        }
+
+        boolean push(Key<?> key) {
+            if (contains(key)) {
+                return false;
+            }
+
+            if (size == keys.length) {
+                grow();
+            }
+
+            keys[size++] = key;
+            insert(index, key);
+            return true;
+        }
+
+        void pop() {
+            if (size == 0) {
+                throw new IndexOutOfBoundsException("0");
+            }
+
+            Key<?> key = keys[--size];
+            keys[size] = null;
+            remove(key);
+        }
+
+        private boolean contains(Key<?> key) {
+            Key<?>[] index = this.index;
+            int mask = index.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                Key<?> k = index[i];
+                if (k == null) {
+                    return false;
+                }
+                if (k == key || k.equals(key)) {
+                    return true;
+                }
+            }
+        }
+
+        private static void insert(Key<?>[] index, Key<?> key) {
+            int mask = index.length - 1;
+            int i = slot(key, mask);
+            while (index[i] != null) {
+                i = (i + 1) & mask;
+            }
+            index[i] = key;
+        }
+
+        // removes the key instance previously inserted, shifting back the following entries of the probe sequence
+        private void remove(Key<?> key) {
+            Key<?>[] index = this.index;
+            int mask = index.length - 1;
+
+            int i = slot(key, mask);
+            while (index[i] != key) {
+                i = (i + 1) & mask;
+            }
+
+            for (int j = (i + 1) & mask; index[j] != null; j = (j + 1) & mask) {
+                int home = slot(index[j], mask);
+                boolean inPlace = i < j ? (home > i && home <= j) : (home > i || home <= j);
+                if (!inPlace) {
+                    index[i] = index[j];
+                    i = j;
+                }
+            }
+
+            index[i] = null;
+        }
+
+        private void grow() {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+
+            Key<?>[] newIndex = new Key<?>[keys.length * 2];
+            for (int i = 0; i < size; i++) {
+                insert(newIndex, keys[i]);
+            }
+            index = newIndex;
+        }
+
+        private static int slot(Key<?> key, int mask) {
+            int h = key.hashCode();
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(keys, size));
         }
     }
 }
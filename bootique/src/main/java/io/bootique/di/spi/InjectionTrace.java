@@ -22,47 +22,123 @@ package io.bootique.di.spi;
 import io.bootique.di.InjectionTraceElement;
 import io.bootique.di.Key;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 /**
  * Optional detailed trace of injection.
  * Can be used in dev environment to create more user-friendly messages in case of injection errors.
+ * <p>
+ * The trace only stores keys, message sources and their int arguments in per-thread arrays. Messages themselves are
+ * rendered when an exception needs the trace. Virtual threads don't keep the trace between resolutions.
  */
 class InjectionTrace {
 
-    private ThreadLocal<LinkedList<InjectionTraceElement>> stack;
+    private final ThreadLocal<Frames> stack;
 
     InjectionTrace() {
-        this.stack = new ThreadLocal<>();
+        this.stack = ThreadLocal.withInitial(Frames::new);
     }
 
     void push(Key<?> key) {
-        getStack().push(new InjectionTraceElement(key));
+        stack.get().push(key);
     }
 
     void updateMessage(Supplier<String> messageSupplier) {
-        InjectionTraceElement element = getStack().peekFirst();
-        if(element != null) {
-            element.setMessage(messageSupplier);
-        }
+        stack.get().update(messageSupplier, 0);
+    }
+
+    void updateMessage(IntFunction<String> message, int argument) {
+        stack.get().update(message, argument);
     }
 
-    InjectionTraceElement pop() {
-        return getStack().pollFirst();
+    void pop() {
+        Frames frames = stack.get();
+        frames.pop();
+        releaseIfEmpty(frames);
     }
 
-    int size() {
-        return getStack().size();
+    /**
+     * Empties the trace, returning its elements starting from the most recently pushed one.
+     */
+    InjectionTraceElement[] drain() {
+        Frames frames = stack.get();
+        InjectionTraceElement[] elements = frames.drain();
+        releaseIfEmpty(frames);
+        return elements;
     }
 
-    private LinkedList<InjectionTraceElement> getStack() {
-        LinkedList<InjectionTraceElement> localStack = stack.get();
-        if(localStack == null) {
-            localStack = new LinkedList<>();
-            stack.set(localStack);
+    private void releaseIfEmpty(Frames frames) {
+        if (frames.size == 0 && VirtualThreads.isCurrentThreadVirtual()) {
+            stack.remove();
         }
-        return localStack;
     }
 
+    private static final class Frames {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Key<?>[] keys;
+        // either Supplier<String> or IntFunction<String>
+        private Object[] messages;
+        private int[] arguments;
+        private int size;
+
+        Frames() {
+            this.keys = new Key<?>[INITIAL_CAPACITY];
+            this.messages = new Object[INITIAL_CAPACITY];
+            this.arguments = new int[INITIAL_CAPACITY];
+        }
+
+        void push(Key<?> key) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                messages = Arrays.copyOf(messages, capacity);
+                arguments = Arrays.copyOf(arguments, capacity);
+            }
+
+            keys[size++] = key;
+        }
+
+        void update(Object message, int argument) {
+            if (size > 0) {
+                messages[size - 1] = message;
+                arguments[size - 1] = argument;
+            }
+        }
+
+        void pop() {
+            // the trace may have already been drained by an exception
+            if (size > 0) {
+                size--;
+                keys[size] = null;
+                messages[size] = null;
+            }
+        }
+
+        InjectionTraceElement[] drain() {
+            InjectionTraceElement[] elements = new InjectionTraceElement[size];
+            for (int i = 0; i < elements.length; i++) {
+                size--;
+                elements[i] = createElement(keys[size], messages[size], arguments[size]);
+                keys[size] = null;
+                messages[size] = null;
+            }
+            return elements;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static InjectionTraceElement createElement(Key<?> key, Object message, int argument) {
+            InjectionTraceElement element = new InjectionTraceElement(key);
+            if (message instanceof IntFunction) {
+                IntFunction<String> function = (IntFunction<String>) message;
+                element.setMessage(() -> function.apply(argument));
+            } else if (message != null) {
+                element.setMessage((Supplier<String>) message);
+            }
+            return element;
+        }
+    }
 }
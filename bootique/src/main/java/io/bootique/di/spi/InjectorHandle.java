@@ -0,0 +1,72 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import javax.inject.Provider;
+
+/**
+ * A handle to a binding that resolves the binding provider once and calls it directly afterwards.
+ *
+ * @see io.bootique.di.Injector#getHandle(Key)
+ * @since 3.0
+ */
+final class InjectorHandle<T> implements Provider<T> {
+
+    private final DefaultInjector injector;
+    private final Key<T> key;
+
+    // resolved binding provider, assigned once the injector bindings are complete
+    private volatile Provider<T> provider;
+
+    InjectorHandle(DefaultInjector injector, Key<T> key) {
+        this.injector = injector;
+        this.key = key;
+
+        if (injector.isBindingsComplete()) {
+            this.provider = injector.getProvider(key);
+        }
+    }
+
+    @Override
+    public T get() {
+        if (injector.isShutdown()) {
+            return injector.throwException("Injector is shutdown");
+        }
+
+        Provider<T> localProvider = provider;
+        if (localProvider == null) {
+            localProvider = injector.getProvider(key);
+
+            // bindings may still change while the injector is being configured
+            if (injector.isBindingsComplete()) {
+                provider = localProvider;
+            }
+        }
+
+        return localProvider.get();
+    }
+
+    @Override
+    public String toString() {
+        return "handle of " + key;
+    }
+}
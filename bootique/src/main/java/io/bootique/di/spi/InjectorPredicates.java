@@ -54,27 +54,43 @@ public class InjectorPredicates {
     private Function<Provider<?>, Provider<?>> providerFunction = Function.identity();
     private ExceptionProvider<?> exceptionProvider = DIRuntimeException::new;
 
+    // generated adapters are built against the default annotations, so they can't be used with custom predicates
+    private boolean customAnnotationPredicates;
+
+    // reflection metadata derived with the custom predicates, reset whenever the predicates change
+    private volatile ClassValue<ReflectionMetadata> reflectionMetadata;
+
     public InjectorPredicates() {
     }
 
     public void setInjectPredicate(Predicate<AccessibleObject> injectPredicate) {
         this.injectPredicate = injectPredicate;
+        this.customAnnotationPredicates = true;
+        this.reflectionMetadata = null;
     }
 
     public void setProviderPredicate(Predicate<Type> providerPredicate) {
         this.providerPredicate = providerPredicate;
+        this.customAnnotationPredicates = true;
+        this.reflectionMetadata = null;
     }
 
     public void setProvidesMethodPredicate(Predicate<Method> providesMethodPredicate) {
         this.providesMethodPredicate = providesMethodPredicate;
+        this.customAnnotationPredicates = true;
+        this.reflectionMetadata = null;
     }
 
     public void setQualifierPredicate(Predicate<Class<? extends Annotation>> qualifierPredicate) {
         this.qualifierPredicate = qualifierPredicate;
+        this.customAnnotationPredicates = true;
+        this.reflectionMetadata = null;
     }
 
     public void setSingletonPredicate(Predicate<AnnotatedElement> singletonPredicate) {
         this.singletonPredicate = singletonPredicate;
+        this.customAnnotationPredicates = true;
+        this.reflectionMetadata = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -86,6 +102,33 @@ public class InjectorPredicates {
         this.exceptionProvider = exceptionProvider;
     }
 
+    /**
+     * Returns whether build-time generated injection adapters can be used with these predicates.
+     *
+     * @since 3.0
+     */
+    boolean canUseGeneratedAdapters() {
+        return !customAnnotationPredicates;
+    }
+
+    /**
+     * Returns reflection metadata of a class derived with these custom predicates.
+     *
+     * @since 3.0
+     */
+    ReflectionMetadata getReflectionMetadata(Class<?> type) {
+        ClassValue<ReflectionMetadata> cache = this.reflectionMetadata;
+        if (cache == null) {
+            synchronized (this) {
+                cache = this.reflectionMetadata;
+                if (cache == null) {
+                    this.reflectionMetadata = cache = ReflectionMetadata.createCache();
+                }
+            }
+        }
+        return cache.get(type);
+    }
+
     boolean isSingleton(AnnotatedElement object) {
         return singletonPredicate.test(object);
     }
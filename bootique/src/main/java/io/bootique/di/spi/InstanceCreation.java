@@ -0,0 +1,102 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+
+import javax.inject.Provider;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A marker of a scoped instance being created by a given thread. Other threads that need the same instance wait for
+ * the creation to finish. The waiting threads of all the scopes are tracked in a single wait graph, so if threads
+ * creating different instances end up waiting for each other, one of them fails with an exception instead of a
+ * deadlock.
+ *
+ * @since 3.0
+ */
+final class InstanceCreation {
+
+    // creations that threads are currently waiting for, used to detect deadlocks between threads creating
+    // instances that depend on each other
+    private static final Map<Thread, InstanceCreation> WAITING = new ConcurrentHashMap<>();
+
+    final Thread thread;
+    private final CountDownLatch latch;
+
+    InstanceCreation() {
+        this.thread = Thread.currentThread();
+        this.latch = new CountDownLatch(1);
+    }
+
+    void done() {
+        latch.countDown();
+    }
+
+    /**
+     * Waits for the creation to finish. The wait is not interruptible, the interrupt status of the thread is
+     * restored after the wait.
+     *
+     * @param delegate unscoped provider of the instance, used in the error message
+     */
+    void await(Provider<?> delegate) {
+        Thread current = Thread.currentThread();
+        WAITING.put(current, this);
+        try {
+            checkDeadlock(current, delegate);
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+                current.interrupt();
+            }
+        } finally {
+            WAITING.remove(current);
+        }
+    }
+
+    // follows the chain of threads waiting for each other, failing if it leads back to the current thread
+    private void checkDeadlock(Thread current, Provider<?> delegate) {
+        Thread owner = thread;
+        for (int i = WAITING.size(); i >= 0 && owner != null; i--) {
+            if (owner == current) {
+                throw new DIRuntimeException(
+                        "Circular dependency between instances created concurrently by threads '%s' and '%s'. "
+                                + "Underlying provider: %s",
+                        current.getName(),
+                        thread.getName(),
+                        DIUtil.getProviderName(delegate));
+            }
+
+            InstanceCreation next = WAITING.get(owner);
+            owner = next != null ? next.thread : null;
+        }
+    }
+}
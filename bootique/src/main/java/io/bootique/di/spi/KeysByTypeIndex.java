@@ -0,0 +1,143 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the binding keys by their raw type and by every superclass and interface of the raw type. Keys are
+ * collected while the modules are configured, and the lookup tables are built as an immutable snapshot on
+ * {@link #freeze()} (or on first lookup), so that the lookups don't need any locking and don't copy anything. Adding
+ * a key invalidates the snapshot.
+ *
+ * @since 3.0
+ */
+final class KeysByTypeIndex {
+
+    // guarded by "this", in the order of binding
+    private final List<Key<?>> keys;
+    private volatile Snapshot snapshot;
+
+    KeysByTypeIndex() {
+        this.keys = new ArrayList<>();
+    }
+
+    synchronized void add(Key<?> key) {
+        keys.add(key);
+        snapshot = null;
+    }
+
+    synchronized void clear() {
+        keys.clear();
+        snapshot = Snapshot.EMPTY;
+    }
+
+    void freeze() {
+        snapshot();
+    }
+
+    List<Key<?>> getKeysByType(Class<?> type) {
+        return snapshot().byRawType.getOrDefault(type, Collections.emptyList());
+    }
+
+    List<Key<?>> getKeysAssignableTo(Class<?> type) {
+        return snapshot().bySuperType.getOrDefault(type, Collections.emptyList());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot local = snapshot;
+        if (local == null) {
+            synchronized (this) {
+                local = snapshot;
+                if (local == null) {
+                    local = snapshot = new Snapshot(keys);
+                }
+            }
+        }
+        return local;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        final Map<Class<?>, List<Key<?>>> byRawType;
+        final Map<Class<?>, List<Key<?>>> bySuperType;
+
+        Snapshot(List<Key<?>> keys) {
+            Map<Class<?>, List<Key<?>>> byRawType = new HashMap<>();
+            Map<Class<?>, List<Key<?>>> bySuperType = new HashMap<>();
+
+            // hierarchies are shared by all the keys of the same raw type
+            Map<Class<?>, Set<Class<?>>> hierarchies = new HashMap<>();
+
+            for (Key<?> key : keys) {
+                Class<?> rawType = key.getType().getRawType();
+                byRawType.computeIfAbsent(rawType, t -> new ArrayList<>(1)).add(key);
+
+                for (Class<?> superType : hierarchies.computeIfAbsent(rawType, KeysByTypeIndex::hierarchy)) {
+                    bySuperType.computeIfAbsent(superType, t -> new ArrayList<>(1)).add(key);
+                }
+            }
+
+            this.byRawType = freeze(byRawType);
+            this.bySuperType = freeze(bySuperType);
+        }
+
+        private static Map<Class<?>, List<Key<?>>> freeze(Map<Class<?>, List<Key<?>>> map) {
+            map.replaceAll((t, keys) -> Collections.unmodifiableList(keys));
+            return map;
+        }
+    }
+
+    /**
+     * Returns the type itself, followed by all its superclasses and all the interfaces it implements directly or
+     * indirectly.
+     */
+    static Set<Class<?>> hierarchy(Class<?> type) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        collectHierarchy(type, hierarchy);
+
+        // interfaces don't extend Object, but their instances are still assignable to it
+        if (!type.isPrimitive()) {
+            hierarchy.add(Object.class);
+        }
+        return hierarchy;
+    }
+
+    private static void collectHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+        if (type == null || !hierarchy.add(type)) {
+            return;
+        }
+
+        collectHierarchy(type.getSuperclass(), hierarchy);
+        for (Class<?> i : type.getInterfaces()) {
+            collectHierarchy(i, hierarchy);
+        }
+    }
+}
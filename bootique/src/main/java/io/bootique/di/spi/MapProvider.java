@@ -20,16 +20,24 @@
 package io.bootique.di.spi;
 
 import javax.inject.Provider;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 class MapProvider<K, V> implements Provider<Map<K, V>> {
 
-    private final Map<K, Provider<? extends V>> providers;
+    // a marker of the values that are resolved on every call
+    private static final Object UNRESOLVED = new Object();
+
+    private final Map<K, MapEntry<K, V>> providers;
     private final DefaultInjector injector;
 
+    // map entries and singleton values resolved once, when caching of the collections is enabled
+    private volatile Resolved<K, V> resolved;
+
     MapProvider(DefaultInjector injector) {
         this.providers = new ConcurrentHashMap<>();
         this.injector = injector;
@@ -37,17 +45,104 @@ class MapProvider<K, V> implements Provider<Map<K, V>> {
 
     @Override
     public Map<K, V> get() {
+        if (!injector.isCollectionCachingEnabled()) {
+            return createMap();
+        }
+
+        Resolved<K, V> localResolved = resolved;
+        if (localResolved == null) {
+            localResolved = resolve();
+            resolved = localResolved;
+        }
+
+        return localResolved.shared != null ? localResolved.shared : createMap(localResolved);
+    }
+
+    private Map<K, V> createMap() {
         Map<K, V> map = new HashMap<>();
 
-        for (Entry<K, Provider<? extends V>> entry : providers.entrySet()) {
-            injector.trace(() -> "Resolve map key '" + entry.getKey() + "'");
-            map.put(entry.getKey(), entry.getValue().get());
+        for (Entry<K, MapEntry<K, V>> entry : providers.entrySet()) {
+            MapEntry<K, V> mapEntry = entry.getValue();
+            injector.trace(mapEntry.traceMessage);
+            map.put(entry.getKey(), mapEntry.provider.get());
+        }
+
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, V> createMap(Resolved<K, V> localResolved) {
+        MapEntry<K, V>[] entries = localResolved.entries;
+        Object[] values = localResolved.values;
+        int len = entries.length;
+
+        Map<K, V> map = new HashMap<>();
+        for (int i = 0; i < len; i++) {
+            Object value = values[i];
+            if (value == UNRESOLVED) {
+                injector.trace(entries[i].traceMessage);
+                value = entries[i].provider.get();
+            }
+            map.put(entries[i].key, (V) value);
         }
 
         return map;
     }
 
+    @SuppressWarnings("unchecked")
+    private Resolved<K, V> resolve() {
+        @SuppressWarnings("rawtypes")
+        MapEntry<K, V>[] entries = providers.values().toArray(new MapEntry[0]);
+        int len = entries.length;
+        Object[] values = new Object[len];
+        boolean allSingletons = true;
+
+        for (int i = 0; i < len; i++) {
+            if (CollectionElementProvider.isSingleton(entries[i].provider, injector)) {
+                injector.trace(entries[i].traceMessage);
+                values[i] = entries[i].provider.get();
+            } else {
+                values[i] = UNRESOLVED;
+                allSingletons = false;
+            }
+        }
+
+        Resolved<K, V> localResolved = new Resolved<>(entries, values, null);
+        return allSingletons
+                ? new Resolved<>(entries, values, Collections.unmodifiableMap(createMap(localResolved)))
+                : localResolved;
+    }
+
     void put(K key, Provider<? extends V> provider) {
-        providers.put(key, provider);
+        providers.put(key, new MapEntry<>(key, provider));
+    }
+
+    /**
+     * Map value provider and its precomputed trace message.
+     */
+    private static class MapEntry<K, V> {
+
+        private final K key;
+        private final Provider<? extends V> provider;
+        private final Supplier<String> traceMessage;
+
+        MapEntry(K key, Provider<? extends V> provider) {
+            this.key = key;
+            this.provider = provider;
+            this.traceMessage = () -> "Resolve map key '" + key + "'";
+        }
+    }
+
+    private static class Resolved<K, V> {
+
+        final MapEntry<K, V>[] entries;
+        final Object[] values;
+        final Map<K, V> shared;
+
+        Resolved(MapEntry<K, V>[] entries, Object[] values, Map<K, V> shared) {
+            this.entries = entries;
+            this.values = values;
+            this.shared = shared;
+        }
     }
 }
@@ -20,9 +20,6 @@
 package io.bootique.di.spi;
 
 import javax.inject.Provider;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Member;
 
 /**
  * Base abstract implementation for providers injecting into object members (fields and methods)
@@ -55,23 +52,4 @@ abstract class MemberInjectingProvider<T> implements NamedProvider<T> {
     }
 
     abstract void injectMembers(T object, Class<?> aClass);
-
-    Annotation getQualifier(Annotation[] annotations, AccessibleObject object) {
-        Annotation bindingAnnotation = null;
-        for(Annotation fieldAnnotation : annotations) {
-            if(injector.getPredicates().isQualifierAnnotation(fieldAnnotation)) {
-                if(bindingAnnotation != null) {
-                    injector.throwException("Found more than one qualifier annotation for '%s.%s'."
-                            , ((Member)object).getDeclaringClass().getName()
-                            , ((Member)object).getName());
-                }
-                bindingAnnotation = fieldAnnotation;
-            }
-        }
-        return bindingAnnotation;
-    }
-
-    Annotation getQualifier(AccessibleObject object) {
-        return getQualifier(object.getAnnotations(), object);
-    }
 }
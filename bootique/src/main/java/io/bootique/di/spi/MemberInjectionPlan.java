@@ -0,0 +1,361 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.TypeLiteral;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Precalculated list of fields and methods of a concrete class that should be injected by the container. Plans are
+ * built once per class and shared by the injectors via {@link ReflectionMetadata}, so that instantiating an object
+ * doesn't require any reflection scanning.
+ *
+ * @since 3.0
+ */
+class MemberInjectionPlan {
+
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Class<?> type;
+    private final InjectionAdapter<?> adapter;
+    private final Supplier<String> adapterTraceMessage;
+
+    // calculated lazily, as they are not needed when there's a generated adapter
+    private volatile FieldInjectionPoint[] fields;
+
+    // calculated lazily, as method injection is disabled by default
+    private volatile MethodInjectionPoint[] methods;
+
+    private MemberInjectionPlan(Class<?> type, InjectionAdapter<?> adapter) {
+        this.type = type;
+        this.adapter = adapter;
+        this.adapterTraceMessage = () -> "Injecting fields of class " + type.getName() + " via generated adapter";
+    }
+
+    static MemberInjectionPlan create(Class<?> type, DefaultInjector injector) {
+        return new MemberInjectionPlan(type, injector.getInjectionAdapter(type));
+    }
+
+    /**
+     * Returns a build-time generated adapter for the plan class, or null if there's none.
+     */
+    InjectionAdapter<?> getAdapter() {
+        return adapter;
+    }
+
+    Supplier<String> getAdapterTraceMessage() {
+        return adapterTraceMessage;
+    }
+
+    FieldInjectionPoint[] getFields(DefaultInjector injector) {
+        FieldInjectionPoint[] fields = this.fields;
+        if (fields == null) {
+            // not synchronizing, as it is safe to calculate this more than once
+            List<FieldInjectionPoint> fieldList = new ArrayList<>();
+            collectFields(type, type, injector, fieldList);
+            this.fields = fields = fieldList.toArray(new FieldInjectionPoint[0]);
+        }
+        return fields;
+    }
+
+    MethodInjectionPoint[] getMethods(DefaultInjector injector) {
+        MethodInjectionPoint[] methods = this.methods;
+        if (methods == null) {
+            // not synchronizing, as it is safe to calculate this more than once
+            this.methods = methods = collectMethods(type, injector);
+        }
+        return methods;
+    }
+
+    private static void collectFields(Class<?> objectType, Class<?> type, DefaultInjector injector, List<FieldInjectionPoint> fields) {
+
+        // bail on recursion stop condition
+        if (type == Object.class || type == null) {
+            return;
+        }
+
+        collectFields(objectType, type.getSuperclass(), injector, fields);
+
+        Predicate<AccessibleObject> injectPredicate = injector.getPredicates().getInjectPredicate();
+
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                // skip static fields completely
+                continue;
+            }
+
+            if (injectPredicate.test(field)) {
+                fields.add(createFieldPoint(objectType, field, injector));
+            }
+        }
+    }
+
+    private static FieldInjectionPoint createFieldPoint(Class<?> objectType, Field field, DefaultInjector injector) {
+
+        Annotation bindingAnnotation = getQualifier(field.getAnnotations(), field, injector);
+        TypeLiteral<?> fieldType = getFieldType(objectType, field, injector);
+
+        Key<?> key;
+        boolean provider = injector.getPredicates().isProviderType(fieldType.getRawType());
+        if (provider) {
+            Type parameterType = GenericTypesUtils.getGenericParameterType(field.getGenericType());
+            if (parameterType == null) {
+                return injector.throwException("Provider field %s.%s must be parameterized to be usable for injection"
+                        , field.getDeclaringClass().getName(), field.getName());
+            }
+            key = Key.get(TypeLiteral.of(parameterType), bindingAnnotation);
+        } else {
+            key = Key.get(fieldType, bindingAnnotation);
+        }
+
+        field.setAccessible(true);
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field).asType(FIELD_SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return injector.throwException("Error injecting into field %s.%s of type %s"
+                    , e, field.getDeclaringClass().getName(), field.getName(), field.getType().getName());
+        }
+
+        return new FieldInjectionPoint(field, fieldType, bindingAnnotation, key, provider, setter);
+    }
+
+    private static TypeLiteral<?> getFieldType(Class<?> objectType, Field field, DefaultInjector injector) {
+        Type genericType = field.getGenericType();
+        // field is defined as some generic type that should be provided by its defining class
+        if (genericType instanceof TypeVariable) {
+            TypeLiteral<?> typeLiteral = GenericTypesUtils.resolveVariableType(objectType, field, genericType);
+            if (typeLiteral == null) {
+                return injector.throwException("Unable to resolve type parameter %s for the field %s type %s "
+                        , genericType.getTypeName(), field.getName(), objectType.getName());
+            }
+            return typeLiteral;
+        }
+
+        return TypeLiteral.of(genericType);
+    }
+
+    private static MethodInjectionPoint[] collectMethods(Class<?> type, DefaultInjector injector) {
+        List<MethodInjectionPoint> result = new ArrayList<>();
+
+        Map<String, List<Method>> methods = MethodInjectingProvider.collectMethods(type, new LinkedHashMap<>());
+        for (List<Method> methodList : methods.values()) {
+            for (Method method : methodList) {
+                if (injector.getPredicates().hasInjectAnnotation(method)) {
+                    result.add(createMethodPoint(method, injector));
+                }
+            }
+        }
+
+        return result.toArray(new MethodInjectionPoint[0]);
+    }
+
+    private static MethodInjectionPoint createMethodPoint(Method method, DefaultInjector injector) {
+
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        Class<?>[] parameterClasses = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+
+        int len = parameterTypes.length;
+        Key<?>[] keys = new Key<?>[len];
+        boolean[] providers = new boolean[len];
+
+        for (int i = 0; i < len; i++) {
+            Type parameterType = parameterTypes[i];
+            Annotation bindingAnnotation = getQualifier(parameterAnnotations[i], method, injector);
+
+            if (injector.getPredicates().isProviderType(parameterClasses[i])) {
+                parameterType = GenericTypesUtils.getGenericParameterType(parameterType);
+                if (parameterType == null) {
+                    return injector.throwException("Parameter of method '%s.%s()' of 'Provider' type must be "
+                                    + "parameterized to be usable for injection"
+                            , method.getDeclaringClass().getName()
+                            , method.getName());
+                }
+                providers[i] = true;
+            }
+
+            keys[i] = Key.get(TypeLiteral.of(parameterType), bindingAnnotation);
+        }
+
+        method.setAccessible(true);
+        MethodHandle invoker;
+        try {
+            invoker = MethodHandles.lookup()
+                    .unreflect(method)
+                    .asType(MethodType.genericMethodType(len + 1))
+                    .asSpreader(Object[].class, len)
+                    .asType(METHOD_INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            return injector.throwException("Error injecting into method '%s()' of class '%s'"
+                    , e, method.getName(), method.getDeclaringClass().getName());
+        }
+
+        return new MethodInjectionPoint(method, keys, providers, invoker);
+    }
+
+    static Annotation getQualifier(Annotation[] annotations, AccessibleObject object, DefaultInjector injector) {
+        Annotation bindingAnnotation = null;
+        for (Annotation annotation : annotations) {
+            if (injector.getPredicates().isQualifierAnnotation(annotation)) {
+                if (bindingAnnotation != null) {
+                    injector.throwException("Found more than one qualifier annotation for '%s.%s'."
+                            , ((Member) object).getDeclaringClass().getName()
+                            , ((Member) object).getName());
+                }
+                bindingAnnotation = annotation;
+            }
+        }
+        return bindingAnnotation;
+    }
+
+    /**
+     * A single field to inject with its resolved type, binding key and setter.
+     */
+    static class FieldInjectionPoint {
+
+        private final Field field;
+        private final TypeLiteral<?> type;
+        private final Annotation bindingAnnotation;
+        private final Key<?> key;
+        private final boolean provider;
+        private final MethodHandle setter;
+        private final Supplier<String> traceMessage;
+
+        FieldInjectionPoint(
+                Field field,
+                TypeLiteral<?> type,
+                Annotation bindingAnnotation,
+                Key<?> key,
+                boolean provider,
+                MethodHandle setter) {
+
+            this.field = field;
+            this.type = type;
+            this.bindingAnnotation = bindingAnnotation;
+            this.key = key;
+            this.provider = provider;
+            this.setter = setter;
+            this.traceMessage = () -> "Injecting field '" + field.getName() + "' of class " + field.getDeclaringClass().getName();
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        TypeLiteral<?> getType() {
+            return type;
+        }
+
+        Annotation getBindingAnnotation() {
+            return bindingAnnotation;
+        }
+
+        /**
+         * @return a key of the injected value, or for the Provider fields, a key of the value provided
+         */
+        Key<?> getKey() {
+            return key;
+        }
+
+        boolean isProvider() {
+            return provider;
+        }
+
+        Supplier<String> getTraceMessage() {
+            return traceMessage;
+        }
+
+        void set(Object object, Object value) throws Throwable {
+            setter.invokeExact(object, value);
+        }
+    }
+
+    /**
+     * A single method to inject with binding keys of its arguments.
+     */
+    static class MethodInjectionPoint {
+
+        private final Method method;
+        private final Key<?>[] argumentKeys;
+        private final boolean[] providerArguments;
+        private final MethodHandle invoker;
+        private final Supplier<String> traceMessage;
+        private final IntFunction<String> argumentTraceMessage;
+
+        MethodInjectionPoint(Method method, Key<?>[] argumentKeys, boolean[] providerArguments, MethodHandle invoker) {
+            this.method = method;
+            this.argumentKeys = argumentKeys;
+            this.providerArguments = providerArguments;
+            this.invoker = invoker;
+            this.traceMessage = () -> "Injecting method '" + method.getName() + "()' of class " + method.getDeclaringClass().getName();
+            this.argumentTraceMessage = i -> "Get argument " + i + " for method '" + method.getName() + "()'"
+                    + " of class '" + method.getDeclaringClass().getName() + "'";
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        int getArgumentCount() {
+            return argumentKeys.length;
+        }
+
+        Key<?> getArgumentKey(int i) {
+            return argumentKeys[i];
+        }
+
+        boolean isProviderArgument(int i) {
+            return providerArguments[i];
+        }
+
+        Supplier<String> getTraceMessage() {
+            return traceMessage;
+        }
+
+        IntFunction<String> getArgumentTraceMessage() {
+            return argumentTraceMessage;
+        }
+
+        void invoke(Object object, Object[] arguments) throws Throwable {
+            Object ignored = invoker.invokeExact(object, arguments);
+        }
+    }
+}
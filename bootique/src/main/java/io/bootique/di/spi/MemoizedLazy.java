@@ -0,0 +1,73 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import io.bootique.di.Lazy;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Lazy} implementation that resolves its key on the first call. Once the value is resolved, reads are a
+ * single volatile read.
+ *
+ * @since 3.0
+ */
+final class MemoizedLazy<T> implements Lazy<T> {
+
+    private final DefaultInjector injector;
+    private final Key<T> key;
+
+    // not using "synchronized" to avoid pinning virtual threads while resolving
+    private final ReentrantLock lock;
+
+    private volatile T value;
+
+    MemoizedLazy(DefaultInjector injector, Key<T> key) {
+        this.injector = injector;
+        this.key = key;
+        this.lock = new ReentrantLock();
+    }
+
+    @Override
+    public T get() {
+        T localValue = value;
+        return localValue != null ? localValue : resolve();
+    }
+
+    private T resolve() {
+        lock.lock();
+        try {
+            T localValue = value;
+            if (localValue == null) {
+                localValue = injector.getInstanceWithCycleProtection(key);
+                value = localValue;
+            }
+            return localValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "lazy " + key;
+    }
+}
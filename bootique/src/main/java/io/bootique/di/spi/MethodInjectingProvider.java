@@ -19,11 +19,9 @@
 
 package io.bootique.di.spi;
 
-import io.bootique.di.Key;
-import io.bootique.di.TypeLiteral;
+import io.bootique.di.spi.MemberInjectionPlan.MethodInjectionPoint;
 
 import javax.inject.Provider;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -51,13 +49,8 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
 
     @Override
     protected void injectMembers(T object, Class<?> type) {
-        Map<String, List<Method>> methods = collectMethods(type, new LinkedHashMap<>());
-        for (List<Method> methodList : methods.values()){
-            methodList.forEach(method -> {
-                if (injector.getPredicates().hasInjectAnnotation(method)) {
-                    injectMember(object, method);
-                }
-            });
+        for (MethodInjectionPoint method : injector.getInjectionPlan(type).getMethods(injector)) {
+            injectMember(object, method);
         }
     }
 
@@ -158,17 +151,16 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
      * @param object to perform inject at
      * @param method to inject
      */
-    private void injectMember(Object object, Method method) {
+    private void injectMember(Object object, MethodInjectionPoint method) {
 
         Object[] values = arguments(method);
 
-        injector.trace(() -> "Injecting method '" + method.getName() + "()' of class " + method.getDeclaringClass().getName());
-        method.setAccessible(true);
+        injector.trace(method.getTraceMessage());
         try {
             method.invoke(object, values);
-        } catch (Exception e) {
+        } catch (Throwable e) {
             injector.throwException("Error injecting into method '%s()' of class '%s'"
-                    , e, method.getName(), method.getDeclaringClass().getName());
+                    , e, method.getMethod().getName(), method.getMethod().getDeclaringClass().getName());
         }
     }
 
@@ -176,37 +168,17 @@ class MethodInjectingProvider<T> extends MemberInjectingProvider<T> {
      * @param method to collect arguments for
      * @return values of arguments
      */
-    private Object[] arguments(Method method) {
-
-        Type[] parameterTypes = method.getGenericParameterTypes();
-        Class<?>[] parameterClasses = method.getParameterTypes();
-        Object[] result = new Object[parameterTypes.length];
-        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-
-        InjectionStack stack = injector.getInjectionStack();
-
-        for (int i = 0; i < parameterTypes.length; i++) {
-            Type parameterType = parameterTypes[i];
-            Annotation bindingAnnotation = getQualifier(parameterAnnotations[i], method);
-
-            int idx = i;
-            injector.trace(() -> "Get argument " + idx + " for method '" + method.getName() + "()'" +
-                    " of class '" + method.getDeclaringClass().getName() + "'");
-
-            if (injector.getPredicates().isProviderType(parameterClasses[i])) {
-                parameterType = GenericTypesUtils.getGenericParameterType(parameterType);
-                if (parameterType == null) {
-                    injector.throwException("Parameter of method '%s.%s()' of 'Provider' type must be "
-                            + "parameterized to be usable for injection"
-                            , method.getDeclaringClass().getName()
-                            , method.getName());
-                }
-
-                result[i] = injector.getProvider(Key.get(TypeLiteral.of(parameterType), bindingAnnotation));
-            } else {
-                Key<?> key = Key.get(TypeLiteral.of(parameterType), bindingAnnotation);
-                result[i] = injector.getInstanceWithCycleProtection(key);
-            }
+    private Object[] arguments(MethodInjectionPoint method) {
+
+        int len = method.getArgumentCount();
+        Object[] result = new Object[len];
+
+        for (int i = 0; i < len; i++) {
+            injector.trace(method.getArgumentTraceMessage(), i);
+
+            result[i] = method.isProviderArgument(i)
+                    ? injector.getProvider(method.getArgumentKey(i))
+                    : injector.getInstanceWithCycleProtection(method.getArgumentKey(i));
         }
 
         return result;
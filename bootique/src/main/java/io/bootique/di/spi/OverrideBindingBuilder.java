@@ -31,8 +31,7 @@ class OverrideBindingBuilder<T> extends DefaultBindingBuilder<T> {
 
     @Override
     protected void initBinding() {
-        Binding<T> binding = injector.getBinding(bindingKey);
-        if(binding == null) {
+        if(!injector.hasProvider(bindingKey)) {
             injector.throwException("No binding to override for key %s", bindingKey);
         }
     }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Pooled;
+import io.bootique.di.Scope;
+
+import javax.inject.Provider;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A scope that reuses instances of objects that are expensive to create and are not thread-safe, such as parsers or
+ * codecs. For a binding of type "T" in this scope, the injector also creates a binding of {@link Pooled Pooled&lt;T&gt;},
+ * that borrows an instance from the pool, returning it back when the lease is closed. Injecting "T" directly creates
+ * a new unpooled instance every time, just like with no scope.
+ * <p>
+ * Each binding has its own pool, keeping at most "maxIdle" returned instances (the size is usually taken from the app
+ * configuration). Instances returned to a full pool, as well as the ones still idle on {@link #shutdown()}, receive
+ * the {@link BeforeScopeEnd} event. Optionally a platform thread may keep one instance per binding to itself,
+ * bypassing the shared pool. Such instances are only released when the thread terminates and never receive scope
+ * events.
+ *
+ * @since 3.0
+ */
+public class PoolScope implements Scope {
+
+    private final int maxIdle;
+    private final boolean perThreadCache;
+    private final CopyOnWriteArrayList<PoolProvider<?>> pools;
+
+    private final LongAdder created;
+    private final LongAdder leased;
+    private final LongAdder discarded;
+    private final AtomicInteger active;
+
+    /**
+     * Creates a scope that keeps at most "maxIdle" idle instances per binding.
+     */
+    public PoolScope(int maxIdle) {
+        this(maxIdle, false);
+    }
+
+    /**
+     * Creates a scope that keeps at most "maxIdle" idle instances per binding in the shared pool, and optionally one
+     * more instance per binding for each platform thread.
+     */
+    public PoolScope(int maxIdle, boolean perThreadCache) {
+
+        if (maxIdle < 0) {
+            throw new DIRuntimeException("Pool size must not be negative: %s", maxIdle);
+        }
+
+        this.maxIdle = maxIdle;
+        this.perThreadCache = perThreadCache;
+        this.pools = new CopyOnWriteArrayList<>();
+        this.created = new LongAdder();
+        this.leased = new LongAdder();
+        this.discarded = new LongAdder();
+        this.active = new AtomicInteger();
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        PoolProvider<T> pool = new PoolProvider<>(this, unscoped);
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Empties the shared pools of all bindings, posting {@link BeforeScopeEnd} event to the idle instances.
+     */
+    public void shutdown() {
+        for (PoolProvider<?> pool : pools) {
+            pool.drain();
+        }
+    }
+
+    /**
+     * Returns the number of instances created by all the pools of this scope.
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Returns the total number of leases given out by all the pools of this scope.
+     */
+    public long getLeaseCount() {
+        return leased.sum();
+    }
+
+    /**
+     * Returns the number of instances currently leased and not yet returned.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Returns the number of instances currently idle in the shared pools (not counting the per-thread instances).
+     */
+    public int getIdleCount() {
+        int idle = 0;
+        for (PoolProvider<?> pool : pools) {
+            idle += pool.idleCount.get();
+        }
+        return idle;
+    }
+
+    /**
+     * Returns the number of instances that were thrown away as they were returned to a full pool or the pool was
+     * shut down.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Returns a lease of an instance from a given scoped provider, or if the provider does not belong to a pool scope,
+     * a lease of a new instance that does nothing on close.
+     */
+    static <T> Pooled<T> lease(Provider<T> scoped) {
+        return scoped instanceof PoolProvider
+                ? ((PoolProvider<T>) scoped).lease()
+                : new Lease<>(null, scoped.get());
+    }
+
+    static class PoolProvider<T> implements ReleasableProvider<T> {
+
+        private final PoolScope scope;
+        private final Provider<T> delegate;
+        private final Queue<T> idle;
+        private final AtomicInteger idleCount;
+        private final ThreadLocal<T> threadCached;
+
+        PoolProvider(PoolScope scope, Provider<T> delegate) {
+            this.scope = scope;
+            this.delegate = delegate;
+            this.idle = new ConcurrentLinkedQueue<>();
+            this.idleCount = new AtomicInteger();
+            this.threadCached = scope.perThreadCache ? new ThreadLocal<>() : null;
+        }
+
+        @Override
+        public T get() {
+            T instance = delegate.get();
+            if (instance == null) {
+                throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                        , DIUtil.getProviderName(delegate));
+            }
+            return instance;
+        }
+
+        @Override
+        public void release() {
+            scope.pools.remove(this);
+            drain();
+        }
+
+        Pooled<T> lease() {
+            scope.leased.increment();
+            scope.active.incrementAndGet();
+
+            try {
+                return new Lease<>(this, borrow());
+            } catch (Throwable th) {
+                scope.active.decrementAndGet();
+                throw th;
+            }
+        }
+
+        private T borrow() {
+            if (threadCached != null && !VirtualThreads.isCurrentThreadVirtual()) {
+                T instance = threadCached.get();
+                if (instance != null) {
+                    threadCached.set(null);
+                    return instance;
+                }
+            }
+
+            T instance = idle.poll();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+                return instance;
+            }
+
+            instance = get();
+            scope.created.increment();
+            return instance;
+        }
+
+        void release(T instance) {
+            scope.active.decrementAndGet();
+
+            if (threadCached != null && !VirtualThreads.isCurrentThreadVirtual() && threadCached.get() == null) {
+                threadCached.set(instance);
+                return;
+            }
+
+            // the count may briefly exceed the limit under contention, which is harmless
+            if (idleCount.incrementAndGet() <= scope.maxIdle) {
+                idle.offer(instance);
+                return;
+            }
+
+            idleCount.decrementAndGet();
+            discard(instance);
+        }
+
+        void drain() {
+            T instance;
+            while ((instance = idle.poll()) != null) {
+                idleCount.decrementAndGet();
+                discard(instance);
+            }
+        }
+
+        private void discard(T instance) {
+            scope.discarded.increment();
+            ScopeEndHandlers.beforeScopeEnd(instance);
+        }
+    }
+
+    static class Lease<T> implements Pooled<T> {
+
+        private final PoolProvider<T> pool;
+        private T instance;
+
+        Lease(PoolProvider<T> pool, T instance) {
+            this.pool = pool;
+            this.instance = instance;
+        }
+
+        @Override
+        public T get() {
+            T localInstance = instance;
+            if (localInstance == null) {
+                throw new DIRuntimeException("Pooled instance is already returned");
+            }
+            return localInstance;
+        }
+
+        @Override
+        public void close() {
+            T localInstance = instance;
+            if (localInstance != null) {
+                instance = null;
+                if (pool != null) {
+                    pool.release(localInstance);
+                }
+            }
+        }
+    }
+}
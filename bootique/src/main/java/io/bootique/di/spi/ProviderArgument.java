@@ -0,0 +1,55 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+import javax.inject.Provider;
+
+/**
+ * An argument of the Provider type of a provider method or an injectable constructor, that is resolved once after
+ * the injector is fully configured.
+ *
+ * @since 3.0
+ */
+final class ProviderArgument<T> implements Provider<Provider<T>> {
+
+    private final DefaultInjector injector;
+    private final Key<T> key;
+    private volatile Provider<T> resolved;
+
+    ProviderArgument(DefaultInjector injector, Key<T> key) {
+        this.injector = injector;
+        this.key = key;
+    }
+
+    @Override
+    public Provider<T> get() {
+        Provider<T> localResolved = resolved;
+        if (localResolved == null) {
+            localResolved = injector.getProvider(key);
+            if (injector.isBindingsComplete()) {
+                resolved = localResolved;
+            }
+        }
+
+        return localResolved;
+    }
+}
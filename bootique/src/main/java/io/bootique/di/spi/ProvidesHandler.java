@@ -25,10 +25,21 @@ import io.bootique.di.TypeLiteral;
 
 import javax.inject.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Resolves provider methods to a set of bindings. Provider methods are a part of a module class, each annotated
@@ -36,6 +47,8 @@ import java.util.function.Predicate;
  */
 class ProvidesHandler {
 
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final DefaultInjector injector;
 
     ProvidesHandler(DefaultInjector injector) {
@@ -43,17 +56,81 @@ class ProvidesHandler {
     }
 
     void bindingsFromAnnotatedMethods(Object module) {
+        bindingsFromIndex(module, findIndex(module));
+    }
+
+    /**
+     * Returns an index of the module provider methods, shared by all the injectors with the same predicates.
+     */
+    private ProvidesIndex findIndex(Object module) {
+        return ReflectionMetadata.of(module.getClass(), injector).getProvidesIndex(t -> createIndex(module));
+    }
+
+    private ProvidesIndex createIndex(Object module) {
+
+        // prefer build-time generated index to scanning module methods
+        ProvidesIndex index = injector.getPredicates().canUseGeneratedAdapters()
+                ? GeneratedAdapters.providesIndex(module.getClass())
+                : null;
+
+        return index != null ? index : scanModule(module);
+    }
+
+    private ProvidesIndex scanModule(Object module) {
+
         Predicate<Method> providesMethodPredicate = injector.getPredicates().getProvidesMethodPredicate();
+        List<ProvidesMethodDescriptor> descriptors = null;
+        List<MethodHandle> invokers = null;
 
         // consider annotated methods in the module class
         for (Method m : module.getClass().getDeclaredMethods()) {
             if (providesMethodPredicate.test(m)) {
                 validateProvidesMethod(module, m);
                 m.setAccessible(true);
-                // change to mutable array on first match
-                createBinding(module, m);
+
+                // change to mutable lists on first match
+                if (descriptors == null) {
+                    descriptors = new ArrayList<>();
+                    invokers = new ArrayList<>();
+                }
+
+                descriptors.add(createDescriptor(m));
+                invokers.add(createInvoker(module, m));
             }
         }
+
+        return descriptors != null
+                ? new ReflectiveProvidesIndex(
+                        descriptors.toArray(new ProvidesMethodDescriptor[0]),
+                        invokers.toArray(new MethodHandle[0]))
+                : ReflectiveProvidesIndex.EMPTY;
+    }
+
+    private void bindingsFromIndex(Object module, ProvidesIndex index) {
+        ProvidesMethodDescriptor[] methods = index.getMethods();
+        for (int i = 0; i < methods.length; i++) {
+            createBinding(module, index, i, methods[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void createBinding(Object module, ProvidesIndex index, int methodIndex, ProvidesMethodDescriptor method) {
+        Key<T> key = (Key<T>) method.getKey();
+
+        Key<?>[] argumentKeys = method.getArgumentKeys();
+        boolean[] providerArguments = method.getProviderArguments();
+        int len = argumentKeys.length;
+        Provider<?>[] argumentProviders = new Provider[len];
+        for (int i = 0; i < len; i++) {
+            argumentProviders[i] = createArgumentProvider(argumentKeys[i], providerArguments[i]);
+        }
+
+        MethodInvoker invoker = arguments -> index.invoke(methodIndex, module, arguments);
+        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentProviders, invoker, method.getName(), module);
+        Scope scope = method.isSingleton() ? injector.getSingletonScope() : injector.getDefaultScope();
+
+        injector.putBinding(key, new Binding<>(key, injector.wrapProvider(key, provider), scope, false));
+        bindAsyncResult(key);
     }
 
     private void validateProvidesMethod(Object module, Method method) {
@@ -64,11 +141,53 @@ class ProvidesHandler {
         }
     }
 
-    private <T> void createBinding(Object module, Method method) {
-        Key<T> key = createKey(method.getGenericReturnType(), extractQualifier(method, method.getDeclaredAnnotations()));
-        Binding<T> binding = createBinding(key, module, method);
+    /**
+     * If a provider method returns CompletionStage&lt;T&gt; or CompletableFuture&lt;T&gt;, starts it on injector
+     * startup, so that async providers run concurrently, and binds T (and the other stage type) with the same
+     * qualifier. Injecting T waits for the stage to complete.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void bindAsyncResult(Key<?> key) {
+        Class<?> rawType = key.getType().getRawType();
+        boolean completionStage = CompletionStage.class.equals(rawType);
+        if (!completionStage && !CompletableFuture.class.equals(rawType)) {
+            return;
+        }
 
-        injector.putBinding(key, binding);
+        TypeLiteral<T> resultType;
+        try {
+            resultType = (TypeLiteral<T>) key.getType().getArgumentType(0);
+        } catch (IndexOutOfBoundsException e) {
+            injector.throwException("Async provider method result %s must be parameterized to be usable for injection", key);
+            return;
+        }
+
+        Key<T> resultKey = key.withType(resultType);
+
+        // async providers must be invoked once to be shared by all the consumers
+        injector.markForEarlySetup(key);
+
+        if (completionStage) {
+            Key<CompletionStage<T>> stageKey = (Key<CompletionStage<T>>) key;
+            putAsyncBinding(resultKey, new AsyncResultProvider<>(injector, stageKey));
+            putAsyncBinding(
+                    key.withType(TypeLiteral.completableFutureOf(resultType)),
+                    () -> injector.getInstanceWithCycleProtection(stageKey).toCompletableFuture().copy());
+        } else {
+            Key<CompletableFuture<T>> futureKey = (Key<CompletableFuture<T>>) key;
+            putAsyncBinding(resultKey, new AsyncResultProvider<>(injector, futureKey));
+            putAsyncBinding(
+                    key.withType(TypeLiteral.completionStageOf(resultType)),
+                    () -> injector.getInstanceWithCycleProtection(futureKey).minimalCompletionStage());
+        }
+    }
+
+    private <T> void putAsyncBinding(Key<T> key, Provider<T> provider) {
+        // explicit bindings of the same key take precedence, so the derived binding is optional and can be
+        // overridden by the modules loaded later
+        if (!injector.hasProvider(key)) {
+            injector.putBinding(key, new Binding<>(key, injector.wrapProvider(key, provider), injector.getNoScope(), true));
+        }
     }
 
     private Annotation extractQualifier(Method method, Annotation[] annotations) {
@@ -104,46 +223,93 @@ class ProvidesHandler {
         return false;
     }
 
-    private <T> Binding<T> createBinding(Key<T> key, Object module, Method method) {
-        return new Binding<>(key, createProvider(key, module, method), createScope(method), false);
-    }
-
-    private <T> Provider<T> createProvider(Key<T> key, Object module, Method method) {
-        Provider<?>[] argumentProviders = createArgumentProviders(method);
-        Provider<T> provider = new ProvidesMethodProvider<>(injector, argumentProviders, method, module);
-        return injector.wrapProvider(key, provider);
-    }
-
-    private Scope createScope(Method method) {
-        // force singleton for annotated methods
-        if (injector.getPredicates().isSingleton(method)) {
-            return injector.getSingletonScope();
-        }
-        // otherwise use injector's default scope
-        return injector.getDefaultScope();
-    }
-
-    private Provider<?>[] createArgumentProviders(Method method) {
+    private ProvidesMethodDescriptor createDescriptor(Method method) {
+        Key<?> key = createKey(method.getGenericReturnType(), extractQualifier(method, method.getDeclaredAnnotations()));
 
         Type[] params = method.getGenericParameterTypes();
         Annotation[][] paramAnnotations = method.getParameterAnnotations();
         int len = params.length;
-        Provider<?>[] providers = new Provider[len];
+        Key<?>[] argumentKeys = new Key<?>[len];
+        boolean[] providerArguments = new boolean[len];
 
         for (int i = 0; i < len; i++) {
             Annotation qualifier = extractQualifier(method, paramAnnotations[i]);
-            Key<?> key = createKey(params[i], qualifier);
+            argumentKeys[i] = createKey(params[i], qualifier);
+            providerArguments[i] = isProviderType(params[i]);
+        }
 
-            if (isProviderType(params[i])) {
+        // force singleton for annotated methods, otherwise use injector's default scope
+        boolean singleton = injector.getPredicates().isSingleton(method);
+        return new ProvidesMethodDescriptor(method.getName(), key, singleton, argumentKeys, providerArguments);
+    }
+
+    /**
+     * Creates an invoker of a provider method via a MethodHandle taking the module and the arguments array, which,
+     * unlike Method.invoke, is not subject to access checks and argument boxing on every call.
+     */
+    private MethodHandle createInvoker(Object module, Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            return injector.throwException("Can't access provider method '%s()' on module '%s'"
+                    , e, method.getName(), module.getClass().getName());
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle
+                .asType(handle.type().generic())
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(ReflectiveProvidesIndex.INVOKER_TYPE);
+    }
+
+    private Provider<?> createArgumentProvider(Key<?> key, boolean providerArgument) {
+        return providerArgument
                 // will resolve to provider of provider
-                providers[i] = () -> injector.getProvider(key);
-            } else {
+                ? new ProviderArgument<>(injector, key)
                 // resolve the actual provider lazily
-                providers[i] = () -> injector.getInstance(key);
+                : new InstanceArgument<>(injector, key);
+    }
+
+    /**
+     * Invokes a provider method either via a MethodHandle or via a generated index.
+     */
+    @FunctionalInterface
+    private interface MethodInvoker {
+        Object invoke(Object[] arguments) throws Throwable;
+    }
+
+    /**
+     * Provides the result of an async provider method, waiting for its completion if needed.
+     */
+    private static class AsyncResultProvider<T> implements NamedProvider<T> {
+
+        private final DefaultInjector injector;
+        private final Key<? extends CompletionStage<T>> stageKey;
+
+        AsyncResultProvider(DefaultInjector injector, Key<? extends CompletionStage<T>> stageKey) {
+            this.injector = injector;
+            this.stageKey = stageKey;
+        }
+
+        @Override
+        public T get() {
+            CompletionStage<T> stage = injector.getInstanceWithCycleProtection(stageKey);
+            try {
+                return stage.toCompletableFuture().join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                return injector.throwException("Error waiting for %s", cause, getName());
             }
         }
 
-        return providers;
+        @Override
+        public String getName() {
+            return "async provider of " + stageKey;
+        }
     }
 
     /**
@@ -153,33 +319,44 @@ class ProvidesHandler {
     private static class ProvidesMethodProvider<T> implements NamedProvider<T> {
         private final DefaultInjector injector;
         private final Provider<?>[] argumentProviders;
-        private final Method method;
+        private final MethodInvoker invoker;
+        private final String methodName;
         private final Object module;
+        private final IntFunction<String> argumentTraceMessage;
+        private final Supplier<String> invokeTraceMessage;
+
+        private ProvidesMethodProvider(
+                DefaultInjector injector,
+                Provider<?>[] argumentProviders,
+                MethodInvoker invoker,
+                String methodName,
+                Object module) {
 
-        private ProvidesMethodProvider(DefaultInjector injector, Provider<?>[] argumentProviders, Method method, Object module) {
             this.injector = injector;
             this.argumentProviders = argumentProviders;
-            this.method = method;
+            this.invoker = invoker;
+            this.methodName = methodName;
             this.module = module;
+            this.argumentTraceMessage = i -> "Get argument " + i + " for " + getName();
+            this.invokeTraceMessage = () -> "Invoking " + getName();
         }
 
         @Override
         public T get() {
             int len = argumentProviders.length;
-            Object[] arguments = new Object[len];
+            Object[] arguments = len > 0 ? new Object[len] : NO_ARGUMENTS;
 
             for (int i = 0; i < len; i++) {
-                final int idx = i;
-                injector.trace(() -> "Get argument " + idx + " for " + getName());
+                injector.trace(argumentTraceMessage, i);
                 arguments[i] = argumentProviders[i].get();
             }
 
-            injector.trace(() -> "Invoking " + getName());
+            injector.trace(invokeTraceMessage);
             try {
                 @SuppressWarnings("unchecked")
-                T result = (T) method.invoke(module, arguments);
+                T result = (T) invoker.invoke(arguments);
                 return result;
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 injector.throwException("Error invoking %s", e, getName());
                 return null;
             }
@@ -187,7 +364,7 @@ class ProvidesHandler {
 
         @Override
         public String getName() {
-            return String.format("provider method '%s()' of module '%s'", method.getName(), module.getClass().getName());
+            return String.format("provider method '%s()' of module '%s'", methodName, module.getClass().getName());
         }
     }
 }
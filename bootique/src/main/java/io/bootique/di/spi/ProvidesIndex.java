@@ -0,0 +1,41 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+/**
+ * A build-time generated index of the provider methods of a module class. Allows the injector to bind provider methods
+ * without scanning the module class and to invoke them without reflection. Generated by the optional
+ * "bootique-di-processor" annotation processor.
+ *
+ * @see io.bootique.di.Provides
+ * @since 3.0
+ */
+public interface ProvidesIndex {
+
+    /**
+     * Returns descriptors of all provider methods declared in the module class.
+     */
+    ProvidesMethodDescriptor[] getMethods();
+
+    /**
+     * Invokes a provider method with a given position in the {@link #getMethods()} array.
+     */
+    Object invoke(int method, Object module, Object[] arguments) throws Exception;
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+
+/**
+ * Build-time metadata of a single module provider method.
+ *
+ * @see ProvidesIndex
+ * @since 3.0
+ */
+public final class ProvidesMethodDescriptor {
+
+    private final String name;
+    private final Key<?> key;
+    private final boolean singleton;
+    private final Key<?>[] argumentKeys;
+    private final boolean[] providerArguments;
+
+    /**
+     * @param name              provider method name
+     * @param key               binding key of the provided object
+     * @param singleton         whether the method is annotated as a singleton
+     * @param argumentKeys      binding keys of method arguments (for Provider arguments - of the provided object)
+     * @param providerArguments flags marking the arguments that should be injected as Providers
+     */
+    public ProvidesMethodDescriptor(
+            String name,
+            Key<?> key,
+            boolean singleton,
+            Key<?>[] argumentKeys,
+            boolean[] providerArguments) {
+
+        this.name = name;
+        this.key = key;
+        this.singleton = singleton;
+        this.argumentKeys = argumentKeys;
+        this.providerArguments = providerArguments;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Key<?> getKey() {
+        return key;
+    }
+
+    public boolean isSingleton() {
+        return singleton;
+    }
+
+    public Key<?>[] getArgumentKeys() {
+        return argumentKeys;
+    }
+
+    public boolean[] getProviderArguments() {
+        return providerArguments;
+    }
+}
@@ -21,31 +21,74 @@ package io.bootique.di.spi;
 
 import io.bootique.di.Key;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Invocation handler of the proxies created to break circular dependencies. Resolves the actual instance once, on the
+ * first call, and dispatches the calls to it via MethodHandles cached per proxied interface.
+ */
 class ProxyInvocationHandler<T> implements InvocationHandler {
 
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final MethodType DISPATCH_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // method handles of the proxied interface methods, shared by all injectors
+    private static final ClassValue<ConcurrentMap<Method, MethodHandle>> HANDLES = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private final DefaultInjector injector;
     private final Key<T> key;
+    private final ConcurrentMap<Method, MethodHandle> handles;
 
     private volatile T instance;
 
     ProxyInvocationHandler(DefaultInjector injector, Key<T> key) {
         this.injector = injector;
         this.key = key;
+        this.handles = HANDLES.get(key.getType().getRawType());
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object... args) throws Throwable {
+        MethodHandle handle = handles.get(method);
+        if (handle == null) {
+            handle = handles.computeIfAbsent(method, ProxyInvocationHandler::createHandle);
+        }
+
+        Object[] arguments = args != null ? args : NO_ARGS;
+        return handle.invokeExact((Object) getInstance(), arguments);
+    }
+
+    private static MethodHandle createHandle(Method method) {
         method.setAccessible(true);
-        return method.invoke(getInstance(), args);
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't access proxied method " + method, e);
+        }
+
+        return handle
+                .asType(handle.type().generic())
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(DISPATCH_TYPE);
     }
 
     T getInstance() {
         T local = instance;
         if(local == null) {
-            synchronized (key) {
+            synchronized (this) {
                 local = instance;
                 if(local == null) {
                     local = instance = injector.getInstanceWithCycleProtection(key, true);
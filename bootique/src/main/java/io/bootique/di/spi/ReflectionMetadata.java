@@ -0,0 +1,101 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.util.function.Function;
+
+/**
+ * Reflection facts about a class, derived with a given set of injector predicates: the injection constructor, the
+ * member injection plan, the singleton annotation and the provider methods of the module classes. Metadata for the
+ * default predicates is shared by all the injectors in the JVM, while metadata for the custom predicates is shared by
+ * the injectors created with the same {@link InjectorPredicates} instance. Metadata is stored in {@link ClassValue}s,
+ * and it doesn't reference the injectors or the predicates, so it doesn't prevent the classes or their class loaders
+ * from being unloaded.
+ *
+ * @since 3.0
+ */
+final class ReflectionMetadata {
+
+    private static final ClassValue<ReflectionMetadata> DEFAULT_PREDICATES_METADATA = createCache();
+
+    private final Class<?> type;
+
+    // All calculated lazily, on first request, without synchronization, as it is safe to calculate them more than
+    // once. Failures are not cached, so that each injector reports them with its own exception provider and trace.
+    private volatile Boolean singleton;
+    private volatile ConstructorInjectingProvider.InjectionConstructor<?> constructor;
+    private volatile MemberInjectionPlan injectionPlan;
+    private volatile ProvidesIndex providesIndex;
+
+    ReflectionMetadata(Class<?> type) {
+        this.type = type;
+    }
+
+    static ReflectionMetadata of(Class<?> type, DefaultInjector injector) {
+        InjectorPredicates predicates = injector.getPredicates();
+        return predicates.canUseGeneratedAdapters()
+                ? DEFAULT_PREDICATES_METADATA.get(type)
+                : predicates.getReflectionMetadata(type);
+    }
+
+    static ClassValue<ReflectionMetadata> createCache() {
+        return new ClassValue<>() {
+            @Override
+            protected ReflectionMetadata computeValue(Class<?> type) {
+                return new ReflectionMetadata(type);
+            }
+        };
+    }
+
+    boolean isSingleton(DefaultInjector injector) {
+        Boolean singleton = this.singleton;
+        if (singleton == null) {
+            this.singleton = singleton = injector.getPredicates().isSingleton(type);
+        }
+        return singleton;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> ConstructorInjectingProvider.InjectionConstructor<T> getConstructor(DefaultInjector injector) {
+        ConstructorInjectingProvider.InjectionConstructor<?> constructor = this.constructor;
+        if (constructor == null) {
+            this.constructor = constructor = new ConstructorInjectingProvider.InjectionConstructor<>(
+                    ConstructorInjectingProvider.findRequiredConstructor((Class<T>) type, injector),
+                    injector);
+        }
+        return (ConstructorInjectingProvider.InjectionConstructor<T>) constructor;
+    }
+
+    MemberInjectionPlan getInjectionPlan(DefaultInjector injector) {
+        MemberInjectionPlan injectionPlan = this.injectionPlan;
+        if (injectionPlan == null) {
+            this.injectionPlan = injectionPlan = MemberInjectionPlan.create(type, injector);
+        }
+        return injectionPlan;
+    }
+
+    ProvidesIndex getProvidesIndex(Function<Class<?>, ProvidesIndex> indexFactory) {
+        ProvidesIndex providesIndex = this.providesIndex;
+        if (providesIndex == null) {
+            this.providesIndex = providesIndex = indexFactory.apply(type);
+        }
+        return providesIndex;
+    }
+}
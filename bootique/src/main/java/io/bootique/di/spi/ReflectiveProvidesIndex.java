@@ -0,0 +1,64 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * A {@link ProvidesIndex} built at runtime by scanning a module class, when there's no build-time generated index.
+ * Provider methods are invoked via MethodHandles that take the module instance as the first argument, so the index can
+ * be reused by the injectors created from the same template for any module instance of the same class.
+ *
+ * @since 3.0
+ */
+final class ReflectiveProvidesIndex implements ProvidesIndex {
+
+    static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    static final ReflectiveProvidesIndex EMPTY = new ReflectiveProvidesIndex(
+            new ProvidesMethodDescriptor[0],
+            new MethodHandle[0]);
+
+    private final ProvidesMethodDescriptor[] methods;
+    private final MethodHandle[] invokers;
+
+    ReflectiveProvidesIndex(ProvidesMethodDescriptor[] methods, MethodHandle[] invokers) {
+        this.methods = methods;
+        this.invokers = invokers;
+    }
+
+    @Override
+    public ProvidesMethodDescriptor[] getMethods() {
+        return methods;
+    }
+
+    @Override
+    public Object invoke(int method, Object module, Object[] arguments) throws Exception {
+        try {
+            return (Object) invokers[method].invokeExact(module, arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable th) {
+            throw new UndeclaredThrowableException(th);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import javax.inject.Provider;
+
+/**
+ * A scoped provider that registers itself with its scope. Released when a binding drops it in favor of a new scoped
+ * provider (e.g. after the binding scope change or decoration), so that the scope does not keep it forever.
+ *
+ * @since 3.0
+ */
+interface ReleasableProvider<T> extends Provider<T> {
+
+    /**
+     * Unregisters this provider from its scope, unless it has already created an instance that is still in scope.
+     */
+    void release();
+}
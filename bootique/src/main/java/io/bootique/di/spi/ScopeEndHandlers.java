@@ -0,0 +1,84 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invokes {@link BeforeScopeEnd} and {@link AfterScopeEnd} methods of the objects leaving a scope directly, without
+ * registering them as scope event listeners. Used by the scopes that track their instances themselves.
+ *
+ * @since 3.0
+ */
+final class ScopeEndHandlers {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // per-class event handler methods, calculated once for each class of the scoped objects
+    private static final ClassValue<MethodHandle[]> BEFORE_SCOPE_END_HANDLERS = handlers(BeforeScopeEnd.class);
+    private static final ClassValue<MethodHandle[]> AFTER_SCOPE_END_HANDLERS = handlers(AfterScopeEnd.class);
+
+    private ScopeEndHandlers() {
+    }
+
+    static void beforeScopeEnd(Object object) {
+        invoke(object, BEFORE_SCOPE_END_HANDLERS.get(object.getClass()));
+    }
+
+    static void afterScopeEnd(Object object) {
+        invoke(object, AFTER_SCOPE_END_HANDLERS.get(object.getClass()));
+    }
+
+    private static void invoke(Object object, MethodHandle[] handlers) {
+        for (MethodHandle handler : handlers) {
+            try {
+                Object ignored = handler.invokeExact(object, NO_ARGS);
+            } catch (Throwable e) {
+                throw new DIRuntimeException("Error invoking event method on %s", e, object.getClass().getName());
+            }
+        }
+    }
+
+    private static ClassValue<MethodHandle[]> handlers(Class<? extends Annotation> eventType) {
+        return new ClassValue<>() {
+            @Override
+            protected MethodHandle[] computeValue(Class<?> type) {
+                return findHandlers(type, eventType);
+            }
+        };
+    }
+
+    private static MethodHandle[] findHandlers(Class<?> type, Class<? extends Annotation> eventType) {
+        List<MethodHandle> handlers = new ArrayList<>(1);
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(eventType) && method.getParameterCount() == 0) {
+                handlers.add(ScopeEventBinding.createHandle(method));
+            }
+        }
+        return handlers.toArray(new MethodHandle[0]);
+    }
+}
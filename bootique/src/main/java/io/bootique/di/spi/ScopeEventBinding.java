@@ -21,6 +21,9 @@ package io.bootique.di.spi;
 
 import io.bootique.di.DIRuntimeException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 
@@ -31,18 +34,41 @@ public class ScopeEventBinding {
 
     private final WeakReference<Object> objectReference;
     private final Method eventHandlerMethod;
+    private final MethodHandle eventHandler;
     private final int argWidth;
 
     public ScopeEventBinding(Object object, Method eventHandlerMethod) {
+        this(object, eventHandlerMethod, createHandle(eventHandlerMethod));
+    }
+
+    ScopeEventBinding(Object object, Method eventHandlerMethod, MethodHandle eventHandler) {
 
         // store weak references for objects to avoid retaining them when they go out of
         // scope
         this.objectReference = new WeakReference<>(object);
         this.eventHandlerMethod = eventHandlerMethod;
-        this.argWidth = eventHandlerMethod.getParameterTypes().length;
+        this.eventHandler = eventHandler;
+        this.argWidth = eventHandlerMethod.getParameterCount();
+    }
+
+    /**
+     * Creates a handle of the event method that takes the object and an array of event arguments.
+     */
+    static MethodHandle createHandle(Method eventHandlerMethod) {
 
         // allow public methods of non-public classes to be annotated
         eventHandlerMethod.setAccessible(true);
+
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(eventHandlerMethod);
+            int width = eventHandlerMethod.getParameterCount();
+            return handle
+                    .asType(MethodType.genericMethodType(width + 1))
+                    .asSpreader(Object[].class, width)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new DIRuntimeException("Can't access event method %s", e, eventHandlerMethod.getName());
+        }
     }
 
     public Object getObject() {
@@ -56,9 +82,10 @@ public class ScopeEventBinding {
             return false;
         }
 
+        Object[] arguments = invocationArguments(eventArgs);
         try {
-            eventHandlerMethod.invoke(object, invocationArguments(eventArgs));
-        } catch (Exception e) {
+            Object ignored = eventHandler.invokeExact(object, arguments);
+        } catch (Throwable e) {
             throw new DIRuntimeException(
                     "Error invoking event method %s",
                     e,
@@ -0,0 +1,186 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listeners of a single scope event type, keyed by the identity of the listener objects. Events are posted to the
+ * listeners in the order of registration. Adding and removing a listener object takes logarithmic time, instead of
+ * a scan of all the registered listeners. Listener objects are referenced weakly, and the entries of the garbage
+ * collected objects are purged as new listeners are added.
+ *
+ * @since 3.0
+ */
+final class ScopeEventListeners {
+
+    // registration position of each listener object
+    private final Map<ListenerKey, Long> positions;
+
+    // listener bindings ordered by registration position
+    private final ConcurrentNavigableMap<Long, Listener> listeners;
+    private final AtomicLong sequence;
+    private final ReferenceQueue<Object> collected;
+
+    ScopeEventListeners() {
+        this.positions = new ConcurrentHashMap<>();
+        this.listeners = new ConcurrentSkipListMap<>();
+        this.sequence = new AtomicLong();
+        this.collected = new ReferenceQueue<>();
+    }
+
+    void add(Object object, ScopeEventBinding binding) {
+        purgeCollected();
+
+        // an already registered object is looked up with a plain key, so that no extra references end up in the queue
+        Long existing = positions.get(new ListenerKey(object, null));
+        if (existing != null && listeners.computeIfPresent(existing, (p, listener) -> listener.add(binding)) != null) {
+            return;
+        }
+
+        positions.compute(new ListenerKey(object, collected), (key, position) -> {
+            if (position == null) {
+                position = sequence.incrementAndGet();
+                listeners.put(position, new Listener(key, new ScopeEventBinding[]{binding}));
+            } else {
+                listeners.computeIfPresent(position, (p, listener) -> listener.add(binding));
+            }
+            return position;
+        });
+    }
+
+    void remove(Object object) {
+        Long position = positions.remove(new ListenerKey(object, null));
+        if (position != null) {
+            listeners.remove(position);
+        }
+    }
+
+    /**
+     * Posts an event to all the listeners in the order of registration. An exception thrown by any of the listeners
+     * stops further event processing and is rethrown.
+     */
+    void post(Object... eventParameters) {
+        Iterator<Listener> it = listeners.values().iterator();
+        while (it.hasNext()) {
+            Listener listener = it.next();
+            for (ScopeEventBinding binding : listener.bindings) {
+                if (!binding.onScopeEvent(eventParameters)) {
+                    // listener was garbage collected
+                    it.remove();
+                    positions.remove(listener.key);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the event bindings in the order of registration.
+     */
+    List<ScopeEventBinding> bindings() {
+        List<ScopeEventBinding> bindings = new ArrayList<>();
+        for (Listener listener : listeners.values()) {
+            Collections.addAll(bindings, listener.bindings);
+        }
+        return bindings;
+    }
+
+    int size() {
+        return positions.size();
+    }
+
+    private void purgeCollected() {
+        Object key;
+        while ((key = collected.poll()) != null) {
+            Long position = positions.remove(key);
+            if (position != null) {
+                listeners.remove(position);
+            }
+        }
+    }
+
+    private static ScopeEventBinding[] concat(ScopeEventBinding[] b1, ScopeEventBinding[] b2) {
+        ScopeEventBinding[] result = Arrays.copyOf(b1, b1.length + b2.length);
+        System.arraycopy(b2, 0, result, b1.length, b2.length);
+        return result;
+    }
+
+    /**
+     * Event bindings of a single listener object.
+     */
+    private static final class Listener {
+
+        final ListenerKey key;
+        final ScopeEventBinding[] bindings;
+
+        Listener(ListenerKey key, ScopeEventBinding[] bindings) {
+            this.key = key;
+            this.bindings = bindings;
+        }
+
+        Listener add(ScopeEventBinding binding) {
+            return new Listener(key, concat(bindings, new ScopeEventBinding[]{binding}));
+        }
+    }
+
+    /**
+     * A weak reference to a listener object that uses object identity for equality.
+     */
+    private static final class ListenerKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        ListenerKey(Object object, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.hashCode = System.identityHashCode(object);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof ListenerKey)) {
+                return false;
+            }
+
+            Object object = get();
+            return object != null && object == ((ListenerKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
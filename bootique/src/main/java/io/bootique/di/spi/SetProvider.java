@@ -23,16 +23,26 @@ import io.bootique.di.Key;
 
 import javax.inject.Provider;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
 
 class SetProvider<T> implements Provider<Set<T>> {
 
+    private static final IntFunction<String> TRACE_MESSAGE = i -> "Resolving set element " + i;
+
+    // a marker of the elements that are resolved on every call
+    private static final Object UNRESOLVED = new Object();
+
     private final DefaultInjector injector;
     private final Collection<Provider<? extends T>> providers;
     private final Key<Set<T>> bindingKey;
 
+    // element providers and singleton values resolved once, when caching of the collections is enabled
+    private volatile Resolved<T> resolved;
+
     SetProvider(DefaultInjector injector, Key<Set<T>> bindingKey) {
         this.injector = injector;
         this.providers = new ConcurrentLinkedQueue<>();
@@ -41,22 +51,93 @@ class SetProvider<T> implements Provider<Set<T>> {
 
     @Override
     public Set<T> get() {
+        if (!injector.isCollectionCachingEnabled()) {
+            return createSet();
+        }
+
+        Resolved<T> localResolved = resolved;
+        if (localResolved == null) {
+            localResolved = resolve();
+            resolved = localResolved;
+        }
+
+        return localResolved.shared != null ? localResolved.shared : createSet(localResolved);
+    }
+
+    private Set<T> createSet() {
         Set<T> set = new LinkedHashSet<>(providers.size());
         int i = 0;
         for (Provider<? extends T> provider : providers) {
-            int idx = i++;
-            injector.trace(() -> "Resolving set element " + idx);
-            T value = provider.get();
-            if (!set.add(value)) {
-                injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
+            injector.trace(TRACE_MESSAGE, i++);
+            add(set, provider.get());
+        }
+
+        return set;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<T> createSet(Resolved<T> localResolved) {
+        Provider<? extends T>[] localProviders = localResolved.providers;
+        Object[] values = localResolved.values;
+        int len = localProviders.length;
+
+        Set<T> set = new LinkedHashSet<>(len);
+        for (int i = 0; i < len; i++) {
+            Object value = values[i];
+            if (value == UNRESOLVED) {
+                injector.trace(TRACE_MESSAGE, i);
+                value = localProviders[i].get();
             }
+            add(set, (T) value);
         }
 
         return set;
     }
 
+    @SuppressWarnings("unchecked")
+    private Resolved<T> resolve() {
+        @SuppressWarnings("rawtypes")
+        Provider<? extends T>[] localProviders = providers.toArray(new Provider[0]);
+        int len = localProviders.length;
+        Object[] values = new Object[len];
+        boolean allSingletons = true;
+
+        for (int i = 0; i < len; i++) {
+            if (CollectionElementProvider.isSingleton(localProviders[i], injector)) {
+                injector.trace(TRACE_MESSAGE, i);
+                values[i] = localProviders[i].get();
+            } else {
+                values[i] = UNRESOLVED;
+                allSingletons = false;
+            }
+        }
+
+        Resolved<T> localResolved = new Resolved<>(localProviders, values, null);
+        return allSingletons
+                ? new Resolved<>(localProviders, values, Collections.unmodifiableSet(createSet(localResolved)))
+                : localResolved;
+    }
+
+    private void add(Set<T> set, T value) {
+        if (!set.add(value)) {
+            injector.throwException("Found duplicated value '%s' in set %s.", value, bindingKey);
+        }
+    }
+
     void add(Provider<? extends T> provider) {
         providers.add(provider);
     }
 
+    private static class Resolved<T> {
+
+        final Provider<? extends T>[] providers;
+        final Object[] values;
+        final Set<T> shared;
+
+        Resolved(Provider<? extends T>[] providers, Object[] values, Set<T> shared) {
+            this.providers = providers;
+            this.values = values;
+            this.shared = shared;
+        }
+    }
 }
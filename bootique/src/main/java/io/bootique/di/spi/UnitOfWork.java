@@ -0,0 +1,278 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+
+import javax.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A single unit of work of a {@link UnitOfWorkScope}. Holds the instances created within the unit and notifies them
+ * when the unit exits. Can be used from multiple threads, each scoped instance is created only once per unit.
+ *
+ * @since 3.0
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final VarHandle INSTANCES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final UnitOfWorkScope scope;
+
+    // not using "synchronized" to avoid pinning virtual threads. The lock is never held while creating instances
+    private final ReentrantLock lock;
+
+    // instances indexed by the scoped provider ordinal, reads are lock-free, writes and resizing are guarded by
+    // the lock. A slot may contain an InstanceCreation while the instance is being created
+    private volatile Object[] instances;
+
+    // instances in the order of creation, guarded by the lock
+    private Object[] created;
+    private int createdCount;
+
+    private UnitOfWork previous;
+    private Thread owner;
+    private volatile boolean exited;
+
+    UnitOfWork(UnitOfWorkScope scope, int capacity) {
+        this.scope = scope;
+        this.lock = new ReentrantLock();
+        this.instances = new Object[Math.max(capacity, 1)];
+        this.created = new Object[4];
+    }
+
+    /**
+     * Ends this unit of work, posting scope end events to all the objects created within it in the order of their
+     * creation. If this unit is the current unit of the thread that entered it, the thread is switched back to its
+     * previous unit that hasn't exited yet. Calling this method on an already exited unit does nothing.
+     */
+    public void exit() {
+        Object[] toNotify;
+        int count;
+
+        lock.lock();
+        try {
+            if (exited) {
+                return;
+            }
+
+            exited = true;
+            toNotify = created;
+            count = createdCount;
+            created = null;
+            instances = new Object[0];
+        } finally {
+            lock.unlock();
+        }
+
+        // a nested unit may still be active on this thread, it keeps being current in this case
+        if (owner == Thread.currentThread() && scope.getUnitHolder().get() == this) {
+            detach(activePrevious());
+        }
+
+        scope.postScopeEnd(toNotify, count);
+    }
+
+    // nested units may exit out of order, so skipping the previous units that have already exited
+    private UnitOfWork activePrevious() {
+        UnitOfWork unit = previous;
+        while (unit != null && unit.exited) {
+            unit = unit.previous;
+        }
+        return unit;
+    }
+
+    /**
+     * Same as {@link #exit()}, allows to use the unit in try-with-resources.
+     */
+    @Override
+    public void close() {
+        exit();
+    }
+
+    public boolean isExited() {
+        return exited;
+    }
+
+    /**
+     * Runs a task on the current thread within this unit of work.
+     */
+    public void run(Runnable task) {
+        UnitOfWork current = scope.getUnitHolder().get();
+        attach(this);
+        try {
+            task.run();
+        } finally {
+            detach(current);
+        }
+    }
+
+    /**
+     * Calls a task on the current thread within this unit of work, returning its result.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        UnitOfWork current = scope.getUnitHolder().get();
+        attach(this);
+        try {
+            return task.call();
+        } finally {
+            detach(current);
+        }
+    }
+
+    void attach() {
+        this.owner = Thread.currentThread();
+        this.previous = scope.getUnitHolder().get();
+        attach(this);
+    }
+
+    private void attach(UnitOfWork unit) {
+        scope.getUnitHolder().set(unit);
+    }
+
+    private void detach(UnitOfWork restore) {
+        if (restore != null) {
+            scope.getUnitHolder().set(restore);
+        } else {
+            // not leaving empty entries behind, as those would accumulate on short-lived (e.g. virtual) threads
+            scope.getUnitHolder().remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(int ordinal, Provider<T> delegate) {
+        Object[] localInstances = instances;
+        if (ordinal < localInstances.length) {
+            Object instance = INSTANCES.getAcquire(localInstances, ordinal);
+            if (instance != null && !(instance instanceof InstanceCreation)) {
+                return (T) instance;
+            }
+        }
+
+        return create(ordinal, delegate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T create(int ordinal, Provider<T> delegate) {
+        while (true) {
+            InstanceCreation pending;
+            boolean claimed = false;
+
+            lock.lock();
+            try {
+                checkNotExited(delegate);
+
+                Object[] localInstances = instances;
+                if (ordinal >= localInstances.length) {
+                    // a binding was scoped after this unit was entered
+                    localInstances = Arrays.copyOf(localInstances, Math.max(scope.getOrdinalsCount(), ordinal + 1));
+                    instances = localInstances;
+                }
+
+                Object instance = localInstances[ordinal];
+                if (instance == null) {
+                    // claim the slot, so that the other threads wait for this instance instead of creating their own
+                    pending = new InstanceCreation();
+                    localInstances[ordinal] = pending;
+                    claimed = true;
+                } else if (instance instanceof InstanceCreation) {
+                    pending = (InstanceCreation) instance;
+                } else {
+                    return (T) instance;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (claimed) {
+                return createClaimed(ordinal, delegate, pending);
+            }
+
+            if (pending.thread == Thread.currentThread()) {
+                throw new DIRuntimeException("Circular dependency detected when creating an instance with provider %s"
+                        , DIUtil.getProviderName(delegate));
+            }
+
+            // another thread is creating the instance, so wait for it outside the lock and check again
+            pending.await(delegate);
+        }
+    }
+
+    private <T> T createClaimed(int ordinal, Provider<T> delegate, InstanceCreation pending) {
+        T newInstance;
+        try {
+            newInstance = delegate.get();
+            if (newInstance == null) {
+                throw new DIRuntimeException("Underlying provider (%s) returned NULL instance"
+                        , DIUtil.getProviderName(delegate));
+            }
+        } catch (RuntimeException | Error e) {
+            publish(ordinal, pending, null);
+            throw e;
+        }
+
+        if (!publish(ordinal, pending, newInstance)) {
+            // the unit exited while the instance was created, so end its lifecycle right away
+            scope.postScopeEnd(new Object[]{newInstance}, 1);
+            checkNotExited(delegate);
+        }
+
+        return newInstance;
+    }
+
+    /**
+     * Replaces a pending instance in its slot with the created instance or clears the slot if the creation failed,
+     * and wakes up the threads waiting for it. Returns false if the unit exited during the instance creation.
+     */
+    private boolean publish(int ordinal, InstanceCreation pending, Object newInstance) {
+        lock.lock();
+        try {
+            if (exited) {
+                return false;
+            }
+
+            // the array may have been resized while the instance was created
+            INSTANCES.setRelease(instances, ordinal, newInstance);
+
+            if (newInstance != null) {
+                if (createdCount == created.length) {
+                    created = Arrays.copyOf(created, createdCount * 2);
+                }
+                created[createdCount++] = newInstance;
+            }
+
+            return true;
+        } finally {
+            lock.unlock();
+            pending.done();
+        }
+    }
+
+    private void checkNotExited(Provider<?> delegate) {
+        if (exited) {
+            throw new DIRuntimeException("Unit of work has already exited. Provider: %s"
+                    , DIUtil.getProviderName(delegate));
+        }
+    }
+}
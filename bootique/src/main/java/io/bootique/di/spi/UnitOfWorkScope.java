@@ -0,0 +1,118 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Scope;
+
+import javax.inject.Provider;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope whose instances live for an explicit unit of work, such as an HTTP request or a batch job step. A unit of
+ * work is started with {@link #enter()} and ended with {@link UnitOfWork#exit()}, when objects created within it
+ * receive the {@link BeforeScopeEnd} and {@link AfterScopeEnd} events. Instances are stored in a per-unit array
+ * indexed by the ordinal of the scoped binding, so entering and exiting a unit only costs a couple of allocations.
+ * <p>
+ * The unit entered by a thread is bound to that thread until it exits. Other threads (including virtual threads)
+ * can participate in the same unit via {@link UnitOfWork#run(Runnable)} or
+ * {@link UnitOfWork#call(java.util.concurrent.Callable)}.
+ *
+ * @since 3.0
+ */
+public class UnitOfWorkScope implements Scope {
+
+    private final AtomicInteger ordinals;
+    private final ThreadLocal<UnitOfWork> currentUnit;
+
+    public UnitOfWorkScope() {
+        this.ordinals = new AtomicInteger();
+        this.currentUnit = new ThreadLocal<>();
+    }
+
+    /**
+     * Starts a new unit of work and binds it to the current thread. A unit previously entered by this thread is
+     * restored when the new unit exits.
+     */
+    public UnitOfWork enter() {
+        UnitOfWork unit = new UnitOfWork(this, ordinals.get());
+        unit.attach();
+        return unit;
+    }
+
+    /**
+     * Returns a unit of work bound to the current thread or null if the thread is outside any unit of this scope.
+     */
+    public UnitOfWork getCurrentUnit() {
+        return currentUnit.get();
+    }
+
+    @Override
+    public <T> Provider<T> scope(Provider<T> unscoped) {
+        return new UnitOfWorkScopeProvider<>(this, unscoped, ordinals.getAndIncrement());
+    }
+
+    ThreadLocal<UnitOfWork> getUnitHolder() {
+        return currentUnit;
+    }
+
+    int getOrdinalsCount() {
+        return ordinals.get();
+    }
+
+    /**
+     * Posts the scope end events to the objects leaving the scope. Same as {@link DefaultScope#shutdown()}, all the
+     * objects receive {@link BeforeScopeEnd} first, and only then {@link AfterScopeEnd}.
+     */
+    void postScopeEnd(Object[] objects, int count) {
+        for (int i = 0; i < count; i++) {
+            ScopeEndHandlers.beforeScopeEnd(objects[i]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            ScopeEndHandlers.afterScopeEnd(objects[i]);
+        }
+    }
+
+    static class UnitOfWorkScopeProvider<T> implements Provider<T> {
+
+        private final UnitOfWorkScope scope;
+        private final Provider<T> delegate;
+        private final int ordinal;
+
+        UnitOfWorkScopeProvider(UnitOfWorkScope scope, Provider<T> delegate, int ordinal) {
+            this.scope = scope;
+            this.delegate = delegate;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public T get() {
+            UnitOfWork unit = scope.currentUnit.get();
+            if (unit == null) {
+                throw new DIRuntimeException("No active unit of work to create an instance with provider %s"
+                        , DIUtil.getProviderName(delegate));
+            }
+
+            return unit.get(ordinal, delegate);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Detects virtual threads on JVMs that support them, while still compiling against older Java versions. Per-thread
+ * injection state is released as soon as a virtual thread completes resolution, as such threads are cheap, numerous
+ * and short-lived, and caching anything for them would only retain garbage.
+ *
+ * @since 3.0
+ */
+final class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private VirtualThreads() {
+    }
+
+    static boolean isCurrentThreadVirtual() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // pre-21 JVM
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique;
+
+import io.bootique.di.Binder;
+import io.bootique.it.ItestModule2;
+import io.bootique.meta.module.ModuleMetadata;
+import io.bootique.shutdown.ShutdownManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Bootique_TemplateIT {
+
+    @Test
+    public void createRuntime() {
+        BQRuntimeTemplate template = Bootique.app("a", "b").module(ItestModule2.class).createTemplate();
+
+        BQRuntime r1 = template.createRuntime();
+        BQRuntime r2 = template.createRuntime();
+
+        assertNotSame(r1, r2);
+        assertArrayEquals(new String[]{"a", "b"}, r1.getArgs());
+        assertArrayEquals(new String[]{"a", "b"}, r2.getArgs());
+        assertNotSame(r1.getInstance(ShutdownManager.class), r2.getInstance(ShutdownManager.class));
+        assertEquals(moduleNames(Bootique.app("a", "b").module(ItestModule2.class).createRuntime()), moduleNames(r1));
+        assertEquals(moduleNames(r1), moduleNames(r2));
+
+        r1.shutdown();
+        r2.shutdown();
+    }
+
+    @Test
+    public void createRuntime_Args() {
+        BQRuntimeTemplate template = Bootique.app("a").createTemplate();
+
+        BQRuntime r1 = template.createRuntime("x", "y");
+        BQRuntime r2 = template.createRuntime();
+
+        assertArrayEquals(new String[]{"x", "y"}, r1.getArgs());
+        assertArrayEquals(new String[]{"a"}, r2.getArgs());
+        assertTrue(r1.run().isSuccess());
+
+        r1.shutdown();
+        r2.shutdown();
+    }
+
+    @Test
+    public void createRuntime_TemplateUnaffectedByLaterChanges() {
+        Bootique bootique = Bootique.app("a");
+        BQRuntimeTemplate template = bootique.createTemplate();
+
+        bootique.args("b").module(ItestModule2.class);
+
+        BQRuntime runtime = template.createRuntime();
+        assertArrayEquals(new String[]{"a"}, runtime.getArgs());
+        assertFalse(moduleNames(runtime).contains("ItestModule2"));
+        runtime.shutdown();
+    }
+
+    @Test
+    public void createRuntime_ModuleInstancesShared() {
+        CountingModule module = new CountingModule();
+        BQRuntimeTemplate template = Bootique.app("a").module(module).createTemplate();
+
+        BQRuntime r1 = template.createRuntime();
+        BQRuntime r2 = template.createRuntime();
+
+        // same module instance, but configured for each runtime
+        assertEquals(2, module.configured);
+
+        r1.shutdown();
+        r2.shutdown();
+    }
+
+    private static List<String> moduleNames(BQRuntime runtime) {
+        return runtime.getModulesMetadata().getModules()
+                .stream()
+                .map(ModuleMetadata::getName)
+                .collect(Collectors.toList());
+    }
+
+    static class CountingModule implements BQModule {
+
+        int configured;
+
+        @Override
+        public void configure(Binder binder) {
+            configured++;
+        }
+    }
+}
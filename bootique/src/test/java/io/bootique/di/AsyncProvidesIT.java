@@ -0,0 +1,136 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.BQModule;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncProvidesIT {
+
+    @Test
+    public void startedConcurrentlyOnStartup() throws InterruptedException {
+        AsyncModule module = new AsyncModule();
+        Injector injector = DIBootstrap.createInjector(module);
+
+        // both providers are started before anything is requested
+        assertTrue(module.started.await(5, TimeUnit.SECONDS));
+
+        module.s1.complete("s1");
+        module.s2.complete(2);
+
+        Consumer consumer = injector.getInstance(Consumer.class);
+        assertEquals("s1", consumer.s1);
+        assertEquals(2, consumer.s2);
+        assertEquals("s1", consumer.s1Stage.toCompletableFuture().join());
+        assertEquals(2, consumer.s2Future.join());
+    }
+
+    @Test
+    public void futureCopyIsIsolated() {
+        AsyncModule module = new AsyncModule();
+        Injector injector = DIBootstrap.createInjector(module);
+
+        CompletableFuture<String> f = injector.getInstance(Key.get(TypeLiteral.completableFutureOf(TypeLiteral.of(String.class)), "s1"));
+        f.complete("hacked");
+
+        module.s1.complete("s1");
+        assertEquals("s1", injector.getInstance(Key.get(String.class, "s1")));
+    }
+
+    @Test
+    public void failed() {
+        AsyncModule module = new AsyncModule();
+        Injector injector = DIBootstrap.createInjector(module);
+
+        module.s2.completeExceptionally(new IllegalStateException("failed"));
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Integer.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    public void rawFuture() {
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> DIBootstrap.createInjector(new RawAsyncModule()));
+        assertTrue(e.getOriginalMessage().contains("must be parameterized"), e.getOriginalMessage());
+    }
+
+    static class AsyncModule implements BQModule {
+
+        final CountDownLatch started = new CountDownLatch(2);
+        final CompletableFuture<String> s1 = new CompletableFuture<>();
+        final CompletableFuture<Integer> s2 = new CompletableFuture<>();
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        @Named("s1")
+        CompletionStage<String> provideS1() {
+            started.countDown();
+            return s1;
+        }
+
+        @Provides
+        CompletableFuture<Integer> provideS2() {
+            started.countDown();
+            return s2;
+        }
+    }
+
+    static class RawAsyncModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Provides
+        CompletableFuture provideRaw() {
+            return CompletableFuture.completedFuture("raw");
+        }
+    }
+
+    static class Consumer {
+
+        @Inject
+        @Named("s1")
+        String s1;
+
+        @Inject
+        Integer s2;
+
+        @Inject
+        @Named("s1")
+        CompletionStage<String> s1Stage;
+
+        @Inject
+        CompletableFuture<Integer> s2Future;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockImplementation1Alt;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildInjectorIT {
+
+    @Test
+    public void parentBindings() {
+        Injector parent = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope())
+                .build();
+
+        Injector child = parent.createChildInjector();
+
+        assertTrue(child.hasProvider(MockInterface1.class));
+        assertSame(parent.getInstance(MockInterface1.class), child.getInstance(MockInterface1.class));
+    }
+
+    @Test
+    public void childOverrides() {
+        Injector parent = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class))
+                .build();
+
+        Injector child = parent.createChildInjector(b -> b.override(MockInterface1.class).to(MockImplementation1Alt.class));
+
+        assertEquals("alt", child.getInstance(MockInterface1.class).getName());
+        assertEquals("MyName", parent.getInstance(MockInterface1.class).getName());
+    }
+
+    @Test
+    public void childOverrides_NoParentBinding() {
+        Injector parent = DIBootstrap.injectorBuilder().build();
+
+        assertThrows(DIRuntimeException.class, () -> parent
+                .createChildInjector(b -> b.override(MockInterface1.class).to(MockImplementation1Alt.class)));
+    }
+
+    @Test
+    public void childDependsOnParent() {
+        Injector parent = DIBootstrap
+                .injectorBuilder(b -> b.bind(TenantConfig.class).toInstance(new TenantConfig("base")).inSingletonScope())
+                .build();
+
+        Injector child1 = parent.createChildInjector(b -> b.bind(Tenant.class).toInstance(new Tenant("t1")));
+        Injector child2 = parent.createChildInjector(b -> b.bind(Tenant.class).toInstance(new Tenant("t2")));
+
+        TenantService s1 = child1.getInstance(TenantService.class);
+        TenantService s2 = child2.getInstance(TenantService.class);
+
+        assertEquals("t1", s1.tenant.name);
+        assertEquals("t2", s2.tenant.name);
+        assertSame(s1.config, s2.config);
+        assertThrows(DIRuntimeException.class, () -> parent.getInstance(TenantService.class));
+    }
+
+    @Test
+    public void childInjectorInjected() {
+        Injector parent = DIBootstrap.injectorBuilder().build();
+        Injector child = parent.createChildInjector();
+
+        assertSame(child, child.getInstance(Injector.class));
+        assertSame(parent, parent.getInstance(Injector.class));
+    }
+
+    @Test
+    public void parentSingletonsNotDuplicated() {
+        Counted.created.set(0);
+
+        Injector parent = DIBootstrap.injectorBuilder(b -> b.bind(Counted.class).inSingletonScope()).build();
+
+        Counted c = parent.getInstance(Counted.class);
+        for (int i = 0; i < 10; i++) {
+            assertSame(c, parent.createChildInjector().getInstance(Counted.class));
+        }
+        assertEquals(1, Counted.created.get());
+    }
+
+    @Test
+    public void shutdown() {
+        Injector parent = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope())
+                .build();
+
+        Injector child = parent.createChildInjector(b -> b.bind(Tenant.class).toInstance(new Tenant("t1")));
+        child.shutdown();
+
+        assertNotNull(parent.getInstance(MockInterface1.class));
+        assertThrows(DIRuntimeException.class, () -> child.getInstance(Tenant.class));
+
+        parent.shutdown();
+        assertThrows(DIRuntimeException.class, parent::createChildInjector);
+    }
+
+    @Test
+    public void getKeysByType() {
+        Injector parent = DIBootstrap.injectorBuilder(b -> {
+            b.bind(MockInterface1.class).to(MockImplementation1.class);
+            b.bind(MockInterface1.class, "a").to(MockImplementation1.class);
+        }).build();
+
+        Injector child = parent.createChildInjector(b -> {
+            b.override(MockInterface1.class).to(MockImplementation1Alt.class);
+            b.bind(MockInterface1.class, "b").to(MockImplementation1Alt.class);
+        });
+
+        assertEquals(
+                List.of(Key.get(MockInterface1.class), Key.get(MockInterface1.class, "a"), Key.get(MockInterface1.class, "b")),
+                List.copyOf(child.getKeysByType(MockInterface1.class)));
+
+        assertTrue(child.getKeysAssignableTo(MockInterface1.class).containsAll(
+                Set.of(Key.get(MockInterface1.class), Key.get(MockInterface1.class, "a"), Key.get(MockInterface1.class, "b"))));
+
+        assertEquals(2, parent.getKeysByType(MockInterface1.class).size());
+    }
+
+    public static class Counted {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public Counted() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class TenantConfig {
+        final String name;
+
+        public TenantConfig(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Tenant {
+        final String name;
+
+        public Tenant(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class TenantService {
+        @Inject
+        Tenant tenant;
+
+        @Inject
+        TenantConfig config;
+    }
+}
@@ -57,6 +57,21 @@ public class CircularDependencyIT {
         assertThrows(DIRuntimeException.class, () -> injector.getInstance(Service1.class));
     }
 
+    @Test
+    public void proxyCreation_ExceptionPassedThrough() {
+        Injector injector = DIBootstrap.injectorBuilder(binder -> {
+            binder.bind(Service5.class).to(Service5Impl.class).inSingletonScope();
+            binder.bind(Service6.class).inSingletonScope();
+        }).build();
+
+        Service6 service6 = injector.getInstance(Service5.class).getService6();
+
+        // injected via proxy
+        Service5 proxy = service6.service5;
+        assertEquals("5", proxy.call(5));
+        assertThrows(IllegalArgumentException.class, () -> proxy.call(-1));
+    }
+
     static class CircularModule implements BQModule {
 
         @Override
@@ -123,6 +138,36 @@ public class CircularDependencyIT {
         }
     }
 
+    interface Service5 {
+        String call(int arg);
+
+        Service6 getService6();
+    }
+
+    static class Service5Impl implements Service5 {
+
+        @Inject
+        Service6 service6;
+
+        @Override
+        public String call(int arg) {
+            if (arg < 0) {
+                throw new IllegalArgumentException("negative");
+            }
+            return String.valueOf(arg);
+        }
+
+        @Override
+        public Service6 getService6() {
+            return service6;
+        }
+    }
+
+    static class Service6 {
+        @Inject
+        Service5 service5;
+    }
+
     static class Service3 {
         @Inject
         Service4 service4;
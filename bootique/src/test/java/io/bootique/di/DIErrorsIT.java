@@ -104,6 +104,23 @@ public class DIErrorsIT {
         }
     }
 
+    @Test
+    public void constructorFailure() {
+        Injector injector = DIBootstrap.createInjector(binder -> {
+            binder.bind(Bar.class).to(BarImpl.class);
+            binder.bind(Foo.class).to(FailingFoo.class);
+        });
+
+        try {
+            injector.getInstance(Foo.class);
+            fail("Should throw DIRuntimeException");
+        } catch (DIRuntimeException ex) {
+            assertTrue(ex.getOriginalMessage().contains("Error invoking constructor of class"), ex.getOriginalMessage());
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals("failed", ex.getCause().getMessage());
+        }
+    }
+
     private static class TestModule implements BQModule {
 
         @Override
@@ -164,6 +181,13 @@ public class DIErrorsIT {
         Baz baz;
     }
 
+    private static class FailingFoo implements Foo {
+        @Inject
+        private FailingFoo(Bar bar) {
+            throw new IllegalStateException("failed");
+        }
+    }
+
     private static class DecoratedFoo implements Foo {
 
         Provider<Foo> foo;
@@ -181,6 +205,8 @@ public class DIErrorsIT {
         }
     }
 
+    private static class BarImpl implements Bar {}
+
     private static class BarImpl2 implements Bar {
         @Inject
         List<Foo> fooList;
@@ -0,0 +1,103 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FindProviderIT {
+
+    @Test
+    public void bound() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class))
+                .build();
+
+        Optional<Provider<MockInterface1>> provider = injector.findProvider(MockInterface1.class);
+        assertTrue(provider.isPresent());
+        assertEquals("MyName", provider.get().get().getName());
+    }
+
+    @Test
+    public void unbound() {
+        Injector injector = DIBootstrap.injectorBuilder().build();
+
+        assertFalse(injector.findProvider(MockImplementation1.class).isPresent());
+
+        // no dynamic binding is created on lookup
+        assertFalse(injector.hasProvider(MockImplementation1.class));
+    }
+
+    @Test
+    public void parentBinding() {
+        Injector parent = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope())
+                .build();
+
+        Injector child = parent.createChildInjector();
+
+        Optional<Provider<MockInterface1>> provider = child.findProvider(MockInterface1.class);
+        assertTrue(provider.isPresent());
+        assertSame(parent.getInstance(MockInterface1.class), provider.get().get());
+    }
+
+    @Test
+    public void failedDynamicBinding_Cached() {
+        Injector injector = DIBootstrap.injectorBuilder().build();
+
+        DIRuntimeException e1 = assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+        DIRuntimeException e2 = assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+
+        // each failure is a new exception with the same message
+        assertNotSame(e1, e2);
+        assertEquals(e1.getOriginalMessage(), e2.getOriginalMessage());
+    }
+
+    @Test
+    public void failedDynamicBinding_Dependency() {
+        Injector injector = DIBootstrap.injectorBuilder().build();
+
+        DIRuntimeException e1 = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Consumer.class));
+        DIRuntimeException e2 = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Consumer.class));
+
+        assertNotSame(e1, e2);
+        assertEquals(e1.getOriginalMessage(), e2.getOriginalMessage());
+
+        // the trace is the one of the current call
+        assertEquals(e1.getInjectionTrace().length, e2.getInjectionTrace().length);
+    }
+
+    static class Consumer {
+
+        final MockInterface1 service;
+
+        @Inject
+        Consumer(MockInterface1 service) {
+            this.service = service;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectorHandleIT {
+
+    @Test
+    public void getHandle_Singleton() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope())
+                .build();
+
+        Provider<MockInterface1> handle = injector.getHandle(MockInterface1.class);
+        assertSame(injector.getInstance(MockInterface1.class), handle.get());
+        assertSame(handle.get(), handle.get());
+    }
+
+    @Test
+    public void getHandle_NoScope() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).withoutScope())
+                .build();
+
+        Provider<MockInterface1> handle = injector.getHandle(Key.get(MockInterface1.class));
+        assertNotSame(handle.get(), handle.get());
+    }
+
+    @Test
+    public void getHandle_DynamicBinding() {
+        Injector injector = DIBootstrap.injectorBuilder().build();
+
+        Provider<MockImplementation1> handle = injector.getHandle(MockImplementation1.class);
+        assertNotNull(handle.get());
+    }
+
+    @Test
+    public void getHandle_Shutdown() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class))
+                .build();
+
+        Provider<MockInterface1> handle = injector.getHandle(MockInterface1.class);
+        assertNotNull(handle.get());
+
+        injector.shutdown();
+        assertThrows(DIRuntimeException.class, handle::get);
+        assertThrows(DIRuntimeException.class, () -> injector.getHandle(MockInterface1.class));
+    }
+}
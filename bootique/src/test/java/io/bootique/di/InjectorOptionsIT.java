@@ -76,6 +76,30 @@ public class InjectorOptionsIT {
         assertNotSame(service1, service2);
     }
 
+    @Test
+    public void freezeBindings() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Service.class).to(Service_Impl1.class);
+                    b.bind(Key.get(String.class, "s")).toInstance("x");
+                })
+                .freezeBindings()
+                .build();
+
+        // the same pre-resolved provider is returned for the configured keys
+        assertSame(injector.getProvider(Service.class), injector.getProvider(Service.class));
+        assertSame(injector.getProvider(Key.get(String.class, "s")), injector.getProvider(Key.get(String.class, "s")));
+        assertEquals("x", injector.getInstance(Key.get(String.class, "s")));
+        assertInstanceOf(Service_Impl1.class, injector.getInstance(Service.class));
+        assertTrue(injector.hasProvider(Service.class));
+
+        // dynamic bindings still work
+        Consumer1 consumer = injector.getInstance(Consumer1.class);
+        assertInstanceOf(Service_Impl1.class, consumer.service);
+
+        injector.shutdown();
+        assertThrows(DIRuntimeException.class, () -> injector.getProvider(Service.class));
+    }
+
     interface Service {
         String doIt();
     }
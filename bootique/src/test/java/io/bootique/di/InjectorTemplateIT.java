@@ -0,0 +1,125 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.BQModule;
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Singleton;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectorTemplateIT {
+
+    @Test
+    public void createInjector_FreshSingletons() {
+        InjectorTemplate template = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope())
+                .buildTemplate();
+
+        Injector i1 = template.createInjector();
+        Injector i2 = template.createInjector();
+
+        assertNotSame(i1, i2);
+        assertSame(i1.getInstance(MockInterface1.class), i1.getInstance(MockInterface1.class));
+        assertNotSame(i1.getInstance(MockInterface1.class), i2.getInstance(MockInterface1.class));
+        assertSame(i2, i2.getInstance(Injector.class));
+    }
+
+    @Test
+    public void createInjector_ProvidesMethods() {
+        InjectorTemplate template = DIBootstrap.injectorBuilder(new NameModule("a")).buildTemplate();
+
+        Injector i1 = template.createInjector();
+        Injector i2 = template.createInjector();
+
+        assertEquals("a", i1.getInstance(String.class));
+        assertEquals("a", i2.getInstance(String.class));
+        assertNotSame(i1.getInstance(StringBuilder.class), i2.getInstance(StringBuilder.class));
+        assertEquals(1, i1.getInstance(Integer.class));
+    }
+
+    @Test
+    public void createInjector_OtherModuleInstances() {
+        InjectorTemplate template = DIBootstrap.injectorBuilder(new NameModule("a")).buildTemplate();
+
+        assertEquals("a", template.createInjector().getInstance(String.class));
+        assertEquals("b", template.createInjector(new NameModule("b")).getInstance(String.class));
+        assertEquals("c", template.createInjector(new NameModule("c")).getInstance(String.class));
+    }
+
+    @Test
+    public void createInjector_Options() {
+        InjectorTemplate template = DIBootstrap.injectorBuilder().disableDynamicBindings().buildTemplate();
+        Injector injector = template.createInjector();
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockImplementation1.class));
+    }
+
+    @Test
+    public void createInjector_InvalidModule() {
+        InjectorTemplate template = DIBootstrap.injectorBuilder(new VoidModule()).buildTemplate();
+
+        // errors are reported by each injector, not cached by the template
+        assertThrows(DIRuntimeException.class, template::createInjector);
+        assertThrows(DIRuntimeException.class, template::createInjector);
+    }
+
+    public static class NameModule implements BQModule {
+
+        private final String name;
+
+        public NameModule(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        String provideName() {
+            return name;
+        }
+
+        @Provides
+        @Singleton
+        StringBuilder provideBuilder(String name) {
+            return new StringBuilder(name);
+        }
+
+        @Provides
+        static Integer provideOne() {
+            return 1;
+        }
+    }
+
+    public static class VoidModule implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        void provideNothing() {
+        }
+    }
+}
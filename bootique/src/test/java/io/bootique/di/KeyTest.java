@@ -44,6 +44,14 @@ public class KeyTest {
         assertNotEquals(key1, key3);
     }
 
+    @Test
+    public void get_ClassInterned() {
+        assertSame(Key.get(String.class), Key.get(String.class));
+        assertSame(Key.get(String.class), Key.get(String.class, ""));
+        assertSame(Key.get(String.class), Key.get(TypeLiteral.of(String.class)));
+        assertNotSame(Key.get(String.class), Key.get(String.class, "a"));
+    }
+
     @Test
     public void equals() {
         Key<String> key1 = Key.get(String.class);
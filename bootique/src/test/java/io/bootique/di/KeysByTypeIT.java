@@ -0,0 +1,124 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockImplementation1Alt;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysByTypeIT {
+
+    @Test
+    public void getKeysByType() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(MockInterface1.class).to(MockImplementation1.class);
+            b.bind(MockInterface1.class, "alt").to(MockImplementation1Alt.class);
+            b.bind(MockImplementation1.class).toInstance(new MockImplementation1());
+        }).build();
+
+        assertEquals(
+                List.of(Key.get(MockInterface1.class), Key.get(MockInterface1.class, "alt")),
+                List.copyOf(injector.getKeysByType(MockInterface1.class)));
+        assertEquals(List.of(Key.get(MockImplementation1.class)), List.copyOf(injector.getKeysByType(MockImplementation1.class)));
+        assertTrue(injector.getKeysByType(Runnable.class).isEmpty());
+    }
+
+    @Test
+    public void getKeysAssignableTo() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(MockInterface1.class).to(MockImplementation1.class);
+            b.bind(MockImplementation1.class).toInstance(new MockImplementation1());
+            b.bind(Sub.class).to(Sub.class);
+            b.bind(Base.class, "base").toProvider(BaseProvider.class);
+        }).build();
+
+        assertEquals(
+                Set.of(Key.get(MockInterface1.class), Key.get(MockImplementation1.class)),
+                Set.copyOf(injector.getKeysAssignableTo(MockInterface1.class)));
+
+        assertEquals(
+                List.of(Key.get(Sub.class), Key.get(Base.class, "base")),
+                List.copyOf(injector.getKeysAssignableTo(Base.class)));
+
+        assertEquals(List.of(Key.get(Sub.class)), List.copyOf(injector.getKeysAssignableTo(Sub.class)));
+
+        assertEquals(
+                List.of(Key.get(Sub.class), Key.get(Base.class, "base")),
+                List.copyOf(injector.getKeysAssignableTo(Plugin.class)));
+
+        assertTrue(injector.getKeysAssignableTo(Runnable.class).isEmpty());
+    }
+
+    @Test
+    public void getKeysAssignableTo_NoInstantiation() {
+        Base.created.set(0);
+
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Sub.class).to(Sub.class).inSingletonScope()).build();
+
+        assertEquals(1, injector.getKeysAssignableTo(Plugin.class).size());
+        assertEquals(0, Base.created.get());
+    }
+
+    @Test
+    public void getKeysAssignableTo_Immutable() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Sub.class).to(Sub.class)).build();
+
+        Collection<Key<? extends Plugin>> keys = injector.getKeysAssignableTo(Plugin.class);
+        assertThrows(UnsupportedOperationException.class, () -> keys.add(Key.get(Base.class)));
+    }
+
+    @Test
+    public void getKeysAssignableTo_Shutdown() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Sub.class).to(Sub.class)).build();
+
+        injector.shutdown();
+        assertTrue(injector.getKeysAssignableTo(Plugin.class).isEmpty());
+    }
+
+    public interface Plugin {
+    }
+
+    public static class Base implements Plugin {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public Base() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class Sub extends Base {
+    }
+
+    public static class BaseProvider implements Provider<Base> {
+        @Override
+        public Base get() {
+            return new Base();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyIT {
+
+    @Test
+    public void fieldInjection() {
+        Counted.created.set(0);
+
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Counted.class).withoutScope()).build();
+
+        FieldConsumer consumer = injector.getInstance(FieldConsumer.class);
+        assertEquals(0, Counted.created.get());
+
+        Counted c1 = consumer.counted.get();
+        assertEquals(1, Counted.created.get());
+        assertSame(c1, consumer.counted.get());
+        assertEquals(1, Counted.created.get());
+    }
+
+    @Test
+    public void constructorInjection() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class))
+                .build();
+
+        ConstructorConsumer consumer = injector.getInstance(ConstructorConsumer.class);
+        assertEquals("MyName", consumer.service.get().getName());
+    }
+
+    @Test
+    public void separateInstancesPerInjectionPoint() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Counted.class).withoutScope()).build();
+
+        FieldConsumer c1 = injector.getInstance(FieldConsumer.class);
+        FieldConsumer c2 = injector.getInstance(FieldConsumer.class);
+        assertNotSame(c1.counted, c2.counted);
+        assertNotSame(c1.counted.get(), c2.counted.get());
+    }
+
+    @Test
+    public void circularDependency() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(CycleA.class).inSingletonScope())
+                .disableProxyCreation()
+                .build();
+
+        CycleA a = injector.getInstance(CycleA.class);
+        assertSame(a, a.b.a.get());
+    }
+
+    @Test
+    public void dynamicBindingsDisabled() {
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class))
+                .disableDynamicBindings()
+                .build();
+
+        Lazy<MockInterface1> lazy = injector.getInstance(Key.get(TypeLiteral.lazyOf(MockInterface1.class)));
+        assertEquals("MyName", lazy.get().getName());
+
+        Lazy<String> unbound = injector.getInstance(Key.get(TypeLiteral.lazyOf(String.class)));
+        assertThrows(DIRuntimeException.class, unbound::get);
+    }
+
+    @Test
+    public void notParameterized() {
+        Injector injector = DIBootstrap.injectorBuilder().build();
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(Lazy.class));
+    }
+
+    public static class Counted {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public Counted() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class FieldConsumer {
+        @Inject
+        Lazy<Counted> counted;
+    }
+
+    public static class ConstructorConsumer {
+        final Lazy<MockInterface1> service;
+
+        @Inject
+        public ConstructorConsumer(Lazy<MockInterface1> service) {
+            this.service = service;
+        }
+    }
+
+    public static class CycleA {
+        @Inject
+        CycleB b;
+    }
+
+    public static class CycleB {
+        @Inject
+        Lazy<CycleA> a;
+    }
+}
@@ -135,6 +135,32 @@ public class MapTypesIT {
         assertEquals("4", impl.getMapByString().get("4"));
     }
 
+    @Test
+    public void cacheSingletonCollections() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Key.get(String.class, "s")).toInstance("x").inSingletonScope();
+            b.bindMap(String.class, String.class).putInstance("a", "1").put("b", Key.get(String.class, "s"));
+        }).cacheSingletonCollections().build();
+
+        Map<String, String> m1 = injector.getInstance(Key.getMapOf(String.class, String.class));
+        assertEquals(Map.of("a", "1", "b", "x"), m1);
+        assertSame(m1, injector.getInstance(Key.getMapOf(String.class, String.class)));
+        assertThrows(UnsupportedOperationException.class, () -> m1.put("c", "2"));
+    }
+
+    @Test
+    public void cacheSingletonCollections_Mixed() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bindMap(String.class, Object.class).putInstance("a", "1").putProviderInstance("b", Object::new);
+        }).cacheSingletonCollections().build();
+
+        Map<String, Object> m1 = injector.getInstance(Key.getMapOf(String.class, Object.class));
+        Map<String, Object> m2 = injector.getInstance(Key.getMapOf(String.class, Object.class));
+
+        assertSame(m1.get("a"), m2.get("a"));
+        assertNotSame(m1.get("b"), m2.get("b"));
+    }
+
     private static final BQModule serviceModule1 = b -> b.bind(Service.class).to(Service_Impl1.class);
 
     interface Service {}
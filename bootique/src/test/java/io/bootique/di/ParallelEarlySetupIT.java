@@ -0,0 +1,204 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di;
+
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelEarlySetupIT {
+
+    @Test
+    public void concurrentCreation() {
+        CountDownLatch latch = new CountDownLatch(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Key.get(S.class, "a")).toProviderInstance(() -> new S(latch)).initOnStartup();
+                    b.bind(Key.get(S.class, "b")).toProviderInstance(() -> new S(latch)).initOnStartup();
+                })
+                .parallelEarlySetup(2)
+                .build();
+
+        // each service waits for the other one to start, so this only works if they are created concurrently
+        assertTrue(injector.getInstance(Key.get(S.class, "a")).concurrent);
+        assertTrue(injector.getInstance(Key.get(S.class, "b")).concurrent);
+    }
+
+    @Test
+    public void sharedDependency() {
+        Dependency.COUNTER.set(0);
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Dependency.class).inSingletonScope();
+                    b.bind(Consumer1.class).initOnStartup();
+                    b.bind(Consumer2.class).initOnStartup();
+                })
+                .parallelEarlySetup(4)
+                .build();
+
+        assertEquals(1, Dependency.COUNTER.get());
+        assertSame(injector.getInstance(Consumer1.class).dependency, injector.getInstance(Consumer2.class).dependency);
+    }
+
+    @Test
+    public void errorReportedAsSequential() {
+        DIRuntimeException sequential = assertThrows(DIRuntimeException.class, () -> DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Consumer1.class).initOnStartup();
+                    b.bind(Failing.class).initOnStartup();
+                })
+                .build());
+
+        DIRuntimeException parallel = assertThrows(DIRuntimeException.class, () -> DIBootstrap.injectorBuilder(b -> {
+                    b.bind(Consumer1.class).initOnStartup();
+                    b.bind(Failing.class).initOnStartup();
+                })
+                .parallelEarlySetup(2)
+                .build());
+
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+        assertEquals(sequential.getInjectionTrace().length, parallel.getInjectionTrace().length);
+    }
+
+    @Test
+    public void crossThreadCycle() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            Injector injector = DIBootstrap.injectorBuilder(b -> {
+                        b.bind(CycleA.class).to(CycleAImpl.class).initOnStartup();
+                        b.bind(CycleB.class).to(CycleBImpl.class).initOnStartup();
+                    })
+                    .parallelEarlySetup(2)
+                    .build();
+
+            CycleA a = injector.getInstance(CycleA.class);
+            CycleB b = injector.getInstance(CycleB.class);
+            assertEquals("b", a.getB().name());
+            assertEquals("a", b.getA().name());
+        });
+    }
+
+    public static class S {
+
+        final boolean concurrent;
+
+        S(CountDownLatch latch) {
+            latch.countDown();
+            try {
+                this.concurrent = latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public static class Dependency {
+
+        static final AtomicInteger COUNTER = new AtomicInteger();
+
+        public Dependency() throws InterruptedException {
+            COUNTER.incrementAndGet();
+            Thread.sleep(50);
+        }
+    }
+
+    public static class Consumer1 {
+
+        final Dependency dependency;
+
+        @Inject
+        public Consumer1(Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public static class Consumer2 {
+
+        final Dependency dependency;
+
+        @Inject
+        public Consumer2(Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public interface CycleA {
+        CycleB getB();
+
+        String name();
+    }
+
+    public interface CycleB {
+        CycleA getA();
+
+        String name();
+    }
+
+    public static class CycleAImpl implements CycleA {
+
+        private final CycleB b;
+
+        @Inject
+        public CycleAImpl(CycleB b) throws InterruptedException {
+            Thread.sleep(50);
+            this.b = b;
+        }
+
+        @Override
+        public CycleB getB() {
+            return b;
+        }
+
+        @Override
+        public String name() {
+            return "a";
+        }
+    }
+
+    public static class CycleBImpl implements CycleB {
+
+        private final CycleA a;
+
+        @Inject
+        public CycleBImpl(CycleA a) throws InterruptedException {
+            Thread.sleep(50);
+            this.a = a;
+        }
+
+        @Override
+        public CycleA getA() {
+            return a;
+        }
+
+        @Override
+        public String name() {
+            return "b";
+        }
+    }
+
+    public static class Failing {
+
+        public Failing() {
+            throw new IllegalStateException("Failing on startup");
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ProvidesIT {
@@ -132,6 +133,23 @@ public class ProvidesIT {
         assertEquals("service2 provider", s2.doIt());
     }
 
+    @Test
+    public void provides_ArgumentsResolvedOnEachCall() {
+        Injector injector = DIBootstrap.createInjector(new TestModule_CountingArguments());
+
+        assertEquals("provideService2_1", injector.getInstance(Service2.class).doIt());
+        assertEquals("provideService2_2", injector.getInstance(Service2.class).doIt());
+        assertEquals("provideService2_3", injector.getInstance(Service2.class).doIt());
+    }
+
+    @Test
+    public void provides_Exception() {
+        Injector injector = DIBootstrap.createInjector(new TestModule_ThrowingProvider());
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> injector.getInstance(Service1.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
     interface Service1 {
         String doIt();
     }
@@ -198,6 +216,38 @@ public class ProvidesIT {
         }
     }
 
+    public static class TestModule_CountingArguments implements BQModule {
+
+        private int counter;
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        Service1 provideService1() {
+            String value = String.valueOf(++counter);
+            return () -> value;
+        }
+
+        @Provides
+        private Service2 provideService2(Service1 s1, Injector injector, Provider<Service1> ignored) {
+            return () -> "provideService2_" + s1.doIt();
+        }
+    }
+
+    public static class TestModule_ThrowingProvider implements BQModule {
+
+        @Override
+        public void configure(Binder binder) {
+        }
+
+        @Provides
+        Service1 provideService1() {
+            throw new IllegalStateException("test");
+        }
+    }
+
     public static class TestModule_InvalidProvider implements BQModule {
 
         @Override
@@ -198,6 +198,57 @@ public class SetTypesIT {
         assertTrue(impl.getStringSet().contains("4"));
     }
 
+    @Test
+    public void cacheSingletonCollections_AllSingletons() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(SingletonPlugin.class).inSingletonScope();
+            b.bindSet(Plugin.class).add(SingletonPlugin.class).addInstance(new PrototypePlugin());
+        }).cacheSingletonCollections().build();
+
+        Set<Plugin> s1 = injector.getInstance(Key.getSetOf(Plugin.class));
+        Set<Plugin> s2 = injector.getInstance(Key.getSetOf(Plugin.class));
+
+        assertEquals(2, s1.size());
+        assertSame(s1, s2);
+        assertThrows(UnsupportedOperationException.class, () -> s1.add(new PrototypePlugin()));
+    }
+
+    @Test
+    public void cacheSingletonCollections_Mixed() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(SingletonPlugin.class).inSingletonScope();
+            b.bind(PrototypePlugin.class).withoutScope();
+            b.bindSet(Plugin.class).add(SingletonPlugin.class).add(PrototypePlugin.class);
+        }).cacheSingletonCollections().build();
+
+        List<Plugin> l1 = List.copyOf(injector.getInstance(Key.getSetOf(Plugin.class)));
+        List<Plugin> l2 = List.copyOf(injector.getInstance(Key.getSetOf(Plugin.class)));
+
+        assertEquals(2, l1.size());
+        assertInstanceOf(SingletonPlugin.class, l1.get(0));
+        assertSame(l1.get(0), l2.get(0));
+        assertNotSame(l1.get(1), l2.get(1));
+    }
+
+    @Test
+    public void noCaching_ByDefault() {
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(SingletonPlugin.class).inSingletonScope();
+            b.bindSet(Plugin.class).add(SingletonPlugin.class);
+        }).build();
+
+        assertNotSame(injector.getInstance(Key.getSetOf(Plugin.class)), injector.getInstance(Key.getSetOf(Plugin.class)));
+    }
+
+    interface Plugin {
+    }
+
+    static class SingletonPlugin implements Plugin {
+    }
+
+    static class PrototypePlugin implements Plugin {
+    }
+
     private static final BQModule serviceModule1 = b -> b.bind(Service.class).to(Service_Impl1.class);
 
     interface Service {
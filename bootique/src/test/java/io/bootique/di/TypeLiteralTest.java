@@ -21,6 +21,7 @@ package io.bootique.di;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -192,6 +193,22 @@ public class TypeLiteralTest {
     }
 
 
+    @Test
+    public void of_ClassInterned() {
+        assertSame(TypeLiteral.of(String.class), TypeLiteral.of(String.class));
+        assertSame(TypeLiteral.of(String.class), TypeLiteral.of((Type) String.class));
+    }
+
+    @Test
+    public void toString_Nested() {
+        TypeLiteral<Map<String, List<Integer>>> type1 = new TypeLiteral<>() {
+        };
+        TypeLiteral<Map<String, List<Integer>>> type2 = TypeLiteral.mapOf(TypeLiteral.of(String.class), TypeLiteral.listOf(Integer.class));
+
+        assertTypesEqual(type1, type2);
+        assertEquals("java.util.Map[java.lang.String, java.util.List[java.lang.Integer]]", type1.toString());
+    }
+
     @Test
     public void creationFailure_NoGenericParam() {
         // No type parameters
@@ -0,0 +1,140 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingScopeTest {
+
+    @Test
+    public void get_Cached() {
+        CachingScope scope = new CachingScope(10);
+        Provider<Closeable> provider = scope.scope(Closeable::new);
+
+        Closeable c1 = provider.get();
+        assertSame(c1, provider.get());
+
+        assertEquals(1, scope.getHitCount());
+        assertEquals(1, scope.getMissCount());
+        assertEquals(0, scope.getEvictionCount());
+        assertEquals(1, scope.size());
+    }
+
+    @Test
+    public void get_LRUEviction() {
+        CachingScope scope = new CachingScope(2);
+        Provider<Closeable> p1 = scope.scope(Closeable::new);
+        Provider<Closeable> p2 = scope.scope(Closeable::new);
+        Provider<Closeable> p3 = scope.scope(Closeable::new);
+
+        Closeable c1 = p1.get();
+        Closeable c2 = p2.get();
+
+        // make p2 the least recently used
+        assertSame(c1, p1.get());
+
+        Closeable c3 = p3.get();
+        assertEquals(2, scope.size());
+        assertEquals(1, scope.getEvictionCount());
+        assertFalse(c1.closed);
+        assertTrue(c2.closed);
+        assertFalse(c3.closed);
+
+        assertNotSame(c2, p2.get());
+    }
+
+    @Test
+    public void get_Expiration() {
+        AtomicLong clock = new AtomicLong();
+        CachingScope scope = new CachingScope(10, Duration.ofNanos(100), clock::get);
+        Provider<Closeable> provider = scope.scope(Closeable::new);
+
+        Closeable c1 = provider.get();
+        clock.set(99);
+        assertSame(c1, provider.get());
+
+        clock.set(100);
+        Closeable c2 = provider.get();
+        assertNotSame(c1, c2);
+        assertTrue(c1.closed);
+        assertFalse(c2.closed);
+
+        assertEquals(1, scope.getHitCount());
+        assertEquals(2, scope.getMissCount());
+        assertEquals(1, scope.getEvictionCount());
+    }
+
+    @Test
+    public void shutdown() {
+        CachingScope scope = new CachingScope(10);
+        Closeable c1 = scope.scope(Closeable::new).get();
+        Closeable c2 = scope.scope(Closeable::new).get();
+
+        scope.shutdown();
+        assertTrue(c1.closed);
+        assertTrue(c2.closed);
+        assertEquals(0, scope.size());
+        assertEquals(0, scope.getEvictionCount());
+    }
+
+    @Test
+    public void invalidSize() {
+        assertThrows(DIRuntimeException.class, () -> new CachingScope(0));
+        assertThrows(DIRuntimeException.class, () -> new CachingScope(1, Duration.ZERO));
+    }
+
+    @Test
+    public void injector_QualifiedBindings() {
+        CachingScope scope = new CachingScope(1);
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Key.get(Closeable.class, "a")).toProviderInstance(Closeable::new).in(scope);
+            b.bind(Key.get(Closeable.class, "b")).toProviderInstance(Closeable::new).in(scope);
+        }).build();
+
+        Closeable a = injector.getInstance(Key.get(Closeable.class, "a"));
+        assertSame(a, injector.getInstance(Key.get(Closeable.class, "a")));
+
+        Closeable b = injector.getInstance(Key.get(Closeable.class, "b"));
+        assertNotSame(a, b);
+        assertTrue(a.closed);
+        assertFalse(b.closed);
+    }
+
+    public static class Closeable {
+
+        boolean closed;
+
+        @BeforeScopeEnd
+        public void close() {
+            closed = true;
+        }
+    }
+}
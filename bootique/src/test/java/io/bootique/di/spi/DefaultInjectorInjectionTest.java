@@ -30,6 +30,8 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class DefaultInjectorInjectionTest {
 
@@ -81,6 +83,27 @@ public class DefaultInjectorInjectionTest {
         assertEquals("altered_MyName:XName", service.getAlteredName());
     }
 
+    @Test
+    public void fieldInjection_CachedPlan() {
+
+        BQModule module = binder -> {
+            binder.bind(MockInterface1.class).to(MockImplementation1.class);
+            binder.bind(MockInterface2.class).to(MockImplementation2Sub1.class).withoutScope();
+            binder.bind(MockInterface3.class).to(MockImplementation3.class);
+        };
+
+        DefaultInjector injector = new DefaultInjector(module);
+
+        MockInterface2 service1 = injector.getInstance(MockInterface2.class);
+        MemberInjectionPlan plan = injector.getInjectionPlan(MockImplementation2Sub1.class);
+        assertEquals(2, plan.getFields(injector).length);
+
+        MockInterface2 service2 = injector.getInstance(MockInterface2.class);
+        assertNotSame(service1, service2);
+        assertEquals("altered_MyName:XName", service2.getAlteredName());
+        assertSame(plan, injector.getInjectionPlan(MockImplementation2Sub1.class));
+    }
+
     @Test
     public void constructorInjection() {
 
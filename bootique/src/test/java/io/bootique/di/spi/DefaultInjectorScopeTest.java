@@ -26,6 +26,8 @@ import io.bootique.di.Injector;
 import io.bootique.di.mock.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultInjectorScopeTest {
@@ -187,4 +189,22 @@ public class DefaultInjectorScopeTest {
         assertNotSame(instance1, instance2);
         assertNotSame(instance2, instance3);
     }
+
+    @Test
+    public void changeScope_ReleasesReplacedProviders() {
+        DefaultInjector injector = new DefaultInjector(Collections.emptySet(), new InjectorPredicates(), b -> {
+            b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope();
+            b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope();
+            b.bind(MockInterface1.class).to(MockImplementation1.class).withoutScope();
+            b.bind(MockInterface1.class).to(MockImplementation1.class).inSingletonScope();
+        });
+
+        DefaultScope scope = injector.getSingletonScope();
+
+        // only the current providers of MockInterface1 and MockImplementation1
+        assertEquals(2, scope.getListenersCount(AfterScopeEnd.class));
+
+        MockInterface1 service = injector.getInstance(MockInterface1.class);
+        assertSame(service, injector.getInstance(MockInterface1.class));
+    }
 }
@@ -20,10 +20,13 @@
 package io.bootique.di.spi;
 
 import io.bootique.BQModule;
+import io.bootique.di.Key;
 import io.bootique.di.mock.MockImplementation1_EventAnnotations;
 import io.bootique.di.mock.MockInterface1;
 import org.junit.jupiter.api.Test;
 
+import javax.inject.Singleton;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultInjectorTest {
@@ -84,4 +87,29 @@ public class DefaultInjectorTest {
         assertTrue(MockImplementation1_EventAnnotations.shutdown3);
     }
 
+    @Test
+    public void isSingletonBinding_NoDynamicBindingCreated() {
+        DefaultInjector injector = new DefaultInjector(b -> b.bind(BoundService.class).inSingletonScope());
+
+        assertTrue(injector.isSingletonBinding(Key.get(BoundService.class)));
+        assertTrue(injector.isSingletonBinding(Key.get(SingletonService.class)));
+        assertFalse(injector.isSingletonBinding(Key.get(PrototypeService.class)));
+
+        assertNull(injector.getBinding(Key.get(SingletonService.class)));
+        assertNull(injector.getBinding(Key.get(PrototypeService.class)));
+
+        // prediction must match the dynamic binding scope
+        assertSame(injector.getInstance(SingletonService.class), injector.getInstance(SingletonService.class));
+        assertNotSame(injector.getInstance(PrototypeService.class), injector.getInstance(PrototypeService.class));
+    }
+
+    public static class BoundService {
+    }
+
+    @Singleton
+    public static class SingletonService {
+    }
+
+    public static class PrototypeService {
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultScopeProviderTest {
+
+    @Test
+    public void get_SameInstance() {
+        DefaultScope scope = new DefaultScope();
+        Provider<Object> provider = scope.scope(Object::new);
+
+        Object o1 = provider.get();
+        assertNotNull(o1);
+        assertSame(o1, provider.get());
+
+        scope.shutdown();
+        assertNotSame(o1, provider.get());
+    }
+
+    @Test
+    public void get_NullInstance() {
+        DefaultScope scope = new DefaultScope();
+        Provider<Object> provider = scope.scope(() -> null);
+        assertThrows(DIRuntimeException.class, provider::get);
+    }
+
+    @Test
+    public void get_RetryAfterFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        DefaultScope scope = new DefaultScope();
+        Provider<Object> provider = scope.scope(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("first call fails");
+            }
+            return new Object();
+        });
+
+        assertThrows(IllegalStateException.class, provider::get);
+        Object o = provider.get();
+        assertSame(o, provider.get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void get_ExactlyOneInstanceUnderContention() throws Exception {
+
+        int threads = 8;
+        int rounds = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int r = 0; r < rounds; r++) {
+                AtomicInteger created = new AtomicInteger();
+                DefaultScope scope = new DefaultScope();
+                Provider<Object> provider = scope.scope(() -> {
+                    created.incrementAndGet();
+                    return new Object();
+                });
+
+                CyclicBarrier start = new CyclicBarrier(threads);
+                List<Future<Object>> results = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return provider.get();
+                    }));
+                }
+
+                Object first = results.get(0).get();
+                for (Future<Object> result : results) {
+                    assertSame(first, result.get());
+                }
+
+                assertEquals(1, created.get(), "Round " + r);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void addScopeEventListener() {
+        DefaultScope scope = new DefaultScope();
+
+        Listener l1 = new Listener();
+        Listener l2 = new Listener();
+        scope.addScopeEventListener(l1);
+        scope.addScopeEventListener(l2);
+
+        scope.shutdown();
+        assertEquals(1, l1.calls);
+        assertEquals(1, l2.calls);
+    }
+
+    public static class Listener {
+
+        int calls;
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            calls++;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultScopeTest {
+
+    @Test
+    public void removeScopeEventListener() {
+        DefaultScope scope = new DefaultScope();
+
+        Listener l1 = new Listener();
+        Listener l2 = new Listener();
+        scope.addScopeEventListener(l1);
+        scope.addScopeEventListener(l2);
+        assertEquals(2, scope.getListenersCount(BeforeScopeEnd.class));
+
+        scope.removeScopeEventListener(l1);
+        assertEquals(1, scope.getListenersCount(BeforeScopeEnd.class));
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(0, l1.calls);
+        assertEquals(1, l2.calls);
+    }
+
+    @Test
+    public void addScopeEventListener_SameObjectTwice() {
+        DefaultScope scope = new DefaultScope();
+
+        Listener l1 = new Listener();
+        scope.addScopeEventListener(l1);
+        scope.addScopeEventListener(l1);
+        assertEquals(1, scope.getListenersCount(BeforeScopeEnd.class));
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+        assertEquals(2, l1.calls);
+
+        scope.removeScopeEventListener(l1);
+        assertEquals(0, scope.getListenersCount(BeforeScopeEnd.class));
+    }
+
+    @Test
+    @SuppressWarnings("removal")
+    public void getListeners() {
+        DefaultScope scope = new DefaultScope();
+
+        Listener l1 = new Listener();
+        Listener l2 = new Listener();
+        scope.addScopeEventListener(l1);
+        scope.addScopeEventListener(l2);
+
+        Collection<ScopeEventBinding> bindings = scope.getListeners().get(BeforeScopeEnd.class.getName());
+        assertEquals(List.of(l1, l2), bindings.stream().map(ScopeEventBinding::getObject).collect(Collectors.toList()));
+        assertThrows(UnsupportedOperationException.class, bindings::clear);
+    }
+
+    @Test
+    public void postScopeEvent_RegistrationOrder() {
+        DefaultScope scope = new DefaultScope();
+
+        List<Integer> calls = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            scope.addScopeEventListener(new OrderedListener(i, calls));
+        }
+
+        scope.postScopeEvent(BeforeScopeEnd.class);
+
+        assertEquals(100, calls.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, calls.get(i));
+        }
+    }
+
+    @Test
+    public void postScopeEvent_CustomEvent() {
+        DefaultScope scope = new DefaultScope(CustomEvent.class);
+
+        CustomListener listener = new CustomListener();
+        scope.addScopeEventListener(listener);
+        assertEquals(1, scope.getListenersCount(CustomEvent.class));
+        assertEquals(0, scope.getListenersCount(BeforeScopeEnd.class));
+
+        scope.postScopeEvent(CustomEvent.class, "a", 5);
+        assertEquals("a5", listener.received);
+    }
+
+    @Test
+    public void postScopeEvent_ArgumentMismatch() {
+        DefaultScope scope = new DefaultScope(CustomEvent.class);
+        scope.addScopeEventListener(new CustomListener());
+        assertThrows(DIRuntimeException.class, () -> scope.postScopeEvent(CustomEvent.class, "a"));
+    }
+
+    @Test
+    public void postScopeEvent_ListenerException() {
+        DefaultScope scope = new DefaultScope();
+        scope.addScopeEventListener(new FailingListener());
+
+        DIRuntimeException e = assertThrows(DIRuntimeException.class, () -> scope.postScopeEvent(BeforeScopeEnd.class));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface CustomEvent {
+    }
+
+    public static class Listener {
+
+        int calls;
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            calls++;
+        }
+    }
+
+    public static class OrderedListener {
+
+        final int id;
+        final List<Integer> calls;
+
+        OrderedListener(int id, List<Integer> calls) {
+            this.id = id;
+            this.calls = calls;
+        }
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            calls.add(id);
+        }
+    }
+
+    public static class CustomListener {
+
+        String received;
+
+        @CustomEvent
+        public void onEvent(String s, Integer i) {
+            received = s + i;
+        }
+    }
+
+    public static class FailingListener {
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            throw new IllegalStateException("test");
+        }
+    }
+}
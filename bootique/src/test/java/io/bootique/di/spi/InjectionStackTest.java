@@ -0,0 +1,82 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InjectionStackTest {
+
+    @Test
+    public void pushPop() {
+        InjectionStack stack = new InjectionStack();
+
+        assertTrue(stack.push(Key.get(String.class)));
+        assertTrue(stack.push(Key.get(String.class, "a")));
+        assertFalse(stack.push(Key.get(String.class)));
+        assertFalse(stack.push(Key.get(String.class, "a")));
+        assertEquals("[<BindingKey: java.lang.String>, <BindingKey: java.lang.String, 'a'>]", stack.toString());
+
+        stack.pop();
+        assertTrue(stack.push(Key.get(String.class, "a")));
+        stack.pop();
+        stack.pop();
+        assertEquals("[]", stack.toString());
+
+        assertThrows(IndexOutOfBoundsException.class, stack::pop);
+    }
+
+    @Test
+    public void deepStack() {
+        InjectionStack stack = new InjectionStack();
+
+        int depth = 1000;
+        for (int i = 0; i < depth; i++) {
+            assertTrue(stack.push(Key.get(String.class, "k" + i)));
+        }
+
+        for (int i = 0; i < depth; i++) {
+            assertFalse(stack.push(Key.get(String.class, "k" + i)));
+        }
+
+        // pop half of the keys, the rest must still be detected
+        for (int i = 0; i < depth / 2; i++) {
+            stack.pop();
+        }
+
+        for (int i = 0; i < depth; i++) {
+            assertEquals(i >= depth / 2, stack.push(Key.get(String.class, "k" + i)), "k" + i);
+            if (i >= depth / 2) {
+                stack.pop();
+            }
+        }
+    }
+
+    @Test
+    public void reset() {
+        InjectionStack stack = new InjectionStack();
+        assertTrue(stack.push(Key.get(String.class)));
+
+        stack.reset();
+        assertTrue(stack.push(Key.get(String.class)));
+    }
+}
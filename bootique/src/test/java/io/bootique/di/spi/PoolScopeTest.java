@@ -0,0 +1,160 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.Key;
+import io.bootique.di.Pooled;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolScopeTest {
+
+    @Test
+    public void lease_Reused() {
+        PoolScope scope = new PoolScope(2);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Parser.class).in(scope)).build();
+
+        Key<Pooled<Parser>> key = Key.getPooledOf(Key.get(Parser.class));
+
+        Parser p1;
+        try (Pooled<Parser> lease = injector.getInstance(key)) {
+            p1 = lease.get();
+            assertEquals(1, scope.getActiveCount());
+        }
+
+        assertEquals(0, scope.getActiveCount());
+        assertEquals(1, scope.getIdleCount());
+
+        try (Pooled<Parser> lease = injector.getInstance(key)) {
+            assertSame(p1, lease.get());
+        }
+
+        assertEquals(1, scope.getCreatedCount());
+        assertEquals(2, scope.getLeaseCount());
+    }
+
+    @Test
+    public void lease_ConcurrentLeasesGetDistinctInstances() {
+        PoolScope scope = new PoolScope(1);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Parser.class).in(scope)).build();
+        Key<Pooled<Parser>> key = Key.getPooledOf(Key.get(Parser.class));
+
+        Pooled<Parser> l1 = injector.getInstance(key);
+        Pooled<Parser> l2 = injector.getInstance(key);
+        assertNotSame(l1.get(), l2.get());
+        assertEquals(2, scope.getActiveCount());
+
+        Parser p2 = l2.get();
+        l1.close();
+        l2.close();
+
+        // the pool is full, so the second instance is discarded
+        assertEquals(1, scope.getIdleCount());
+        assertEquals(1, scope.getDiscardedCount());
+        assertTrue(p2.closed);
+    }
+
+    @Test
+    public void lease_Closed() {
+        PoolScope scope = new PoolScope(1);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Parser.class).in(scope)).build();
+
+        Pooled<Parser> lease = injector.getInstance(Key.getPooledOf(Key.get(Parser.class)));
+        lease.close();
+        lease.close();
+
+        assertEquals(0, scope.getActiveCount());
+        assertThrows(DIRuntimeException.class, lease::get);
+    }
+
+    @Test
+    public void lease_PerThreadCache() {
+        PoolScope scope = new PoolScope(0, true);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Parser.class).in(scope)).build();
+        Key<Pooled<Parser>> key = Key.getPooledOf(Key.get(Parser.class));
+
+        Parser p1;
+        try (Pooled<Parser> lease = injector.getInstance(key)) {
+            p1 = lease.get();
+        }
+
+        try (Pooled<Parser> lease = injector.getInstance(key)) {
+            assertSame(p1, lease.get());
+        }
+
+        assertEquals(0, scope.getIdleCount());
+        assertEquals(0, scope.getDiscardedCount());
+    }
+
+    @Test
+    public void injectProviderOfPooled() {
+        PoolScope scope = new PoolScope(4);
+        Injector injector = DIBootstrap.injectorBuilder(b -> {
+            b.bind(Parser.class).in(scope);
+            b.bind(ParserClient.class);
+        }).build();
+
+        ParserClient client = injector.getInstance(ParserClient.class);
+        try (Pooled<Parser> lease = client.parsers.get()) {
+            assertNotNull(lease.get());
+        }
+
+        // direct injection creates unpooled instances
+        assertNotSame(injector.getInstance(Parser.class), injector.getInstance(Parser.class));
+    }
+
+    @Test
+    public void shutdown() {
+        PoolScope scope = new PoolScope(4);
+        Injector injector = DIBootstrap.injectorBuilder(b -> b.bind(Parser.class).in(scope)).build();
+
+        Pooled<Parser> lease = injector.getInstance(Key.getPooledOf(Key.get(Parser.class)));
+        Parser p1 = lease.get();
+        lease.close();
+
+        scope.shutdown();
+        assertTrue(p1.closed);
+        assertEquals(0, scope.getIdleCount());
+    }
+
+    public static class Parser {
+
+        boolean closed;
+
+        @BeforeScopeEnd
+        public void close() {
+            closed = true;
+        }
+    }
+
+    public static class ParserClient {
+
+        @Inject
+        Provider<Pooled<Parser>> parsers;
+    }
+}
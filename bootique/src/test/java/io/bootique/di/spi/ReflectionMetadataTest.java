@@ -0,0 +1,98 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.mock.MockImplementation1;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Singleton;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReflectionMetadataTest {
+
+    @Test
+    public void of_DefaultPredicates_SharedByInjectors() {
+        DefaultInjector i1 = new DefaultInjector();
+        DefaultInjector i2 = new DefaultInjector();
+
+        ReflectionMetadata m1 = ReflectionMetadata.of(MockImplementation1.class, i1);
+        assertSame(m1, ReflectionMetadata.of(MockImplementation1.class, i2));
+        assertSame(m1.getInjectionPlan(i1), m1.getInjectionPlan(i2));
+        assertSame(m1.getConstructor(i1), m1.getConstructor(i2));
+    }
+
+    @Test
+    public void of_CustomPredicates() {
+        InjectorPredicates predicates = new InjectorPredicates();
+        predicates.setSingletonPredicate(o -> o == Custom.class);
+
+        DefaultInjector defaultInjector = new DefaultInjector();
+        DefaultInjector i1 = new DefaultInjector(Set.of(), predicates);
+        DefaultInjector i2 = new DefaultInjector(Set.of(), predicates);
+
+        ReflectionMetadata custom = ReflectionMetadata.of(Custom.class, i1);
+        assertSame(custom, ReflectionMetadata.of(Custom.class, i2));
+        assertNotSame(custom, ReflectionMetadata.of(Custom.class, defaultInjector));
+
+        assertTrue(custom.isSingleton(i1));
+        assertFalse(ReflectionMetadata.of(Custom.class, defaultInjector).isSingleton(defaultInjector));
+        assertTrue(ReflectionMetadata.of(Annotated.class, defaultInjector).isSingleton(defaultInjector));
+    }
+
+    @Test
+    public void of_CustomPredicates_ResetOnChange() {
+        InjectorPredicates predicates = new InjectorPredicates();
+        predicates.setSingletonPredicate(o -> false);
+
+        DefaultInjector i1 = new DefaultInjector(Set.of(), predicates);
+        ReflectionMetadata m1 = ReflectionMetadata.of(Custom.class, i1);
+        assertFalse(m1.isSingleton(i1));
+
+        predicates.setSingletonPredicate(o -> true);
+        DefaultInjector i2 = new DefaultInjector(Set.of(), predicates);
+        ReflectionMetadata m2 = ReflectionMetadata.of(Custom.class, i2);
+        assertNotSame(m1, m2);
+        assertTrue(m2.isSingleton(i2));
+    }
+
+    @Test
+    public void getConstructor_FailureNotCached() {
+        DefaultInjector injector = new DefaultInjector();
+        ReflectionMetadata metadata = ReflectionMetadata.of(NoConstructor.class, injector);
+
+        assertThrows(DIRuntimeException.class, () -> metadata.getConstructor(injector));
+        assertThrows(DIRuntimeException.class, () -> metadata.getConstructor(injector));
+    }
+
+    public static class Custom {
+    }
+
+    @Singleton
+    public static class Annotated {
+    }
+
+    public static class NoConstructor {
+        public NoConstructor(String s) {
+        }
+    }
+}
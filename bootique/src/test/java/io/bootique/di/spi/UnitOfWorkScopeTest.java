@@ -0,0 +1,424 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.BeforeScopeEnd;
+import io.bootique.di.DIBootstrap;
+import io.bootique.di.DIRuntimeException;
+import io.bootique.di.Injector;
+import io.bootique.di.mock.MockImplementation1;
+import io.bootique.di.mock.MockInterface1;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnitOfWorkScopeTest {
+
+    @Test
+    public void instancesPerUnit() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).in(scope))
+                .build();
+
+        MockInterface1 i1;
+        try (UnitOfWork unit = scope.enter()) {
+            assertSame(unit, scope.getCurrentUnit());
+            i1 = injector.getInstance(MockInterface1.class);
+            assertSame(i1, injector.getInstance(MockInterface1.class));
+        }
+
+        assertNull(scope.getCurrentUnit());
+
+        try (UnitOfWork ignored = scope.enter()) {
+            MockInterface1 i2 = injector.getInstance(MockInterface1.class);
+            assertNotSame(i1, i2);
+        }
+    }
+
+    @Test
+    public void noActiveUnit() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).in(scope))
+                .build();
+
+        assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+    }
+
+    @Test
+    public void nestedUnits() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).in(scope))
+                .build();
+
+        try (UnitOfWork outer = scope.enter()) {
+            MockInterface1 i1 = injector.getInstance(MockInterface1.class);
+
+            try (UnitOfWork inner = scope.enter()) {
+                assertSame(inner, scope.getCurrentUnit());
+                assertNotSame(i1, injector.getInstance(MockInterface1.class));
+            }
+
+            assertSame(outer, scope.getCurrentUnit());
+            assertSame(i1, injector.getInstance(MockInterface1.class));
+        }
+    }
+
+    @Test
+    public void exit_EventsForObjectsCreatedInUnit() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(Listener.class).in(scope))
+                .build();
+
+        UnitOfWork u1 = scope.enter();
+        Listener l1 = injector.getInstance(Listener.class);
+        u1.exit();
+
+        UnitOfWork u2 = scope.enter();
+        u2.exit();
+
+        assertEquals(1, l1.calls);
+
+        // exiting twice is a noop
+        u1.exit();
+        assertEquals(1, l1.calls);
+    }
+
+    @Test
+    public void exit_Twice() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+
+        UnitOfWork u1 = scope.enter();
+        u1.exit();
+
+        UnitOfWork u2 = scope.enter();
+
+        // exiting an already exited unit must not change the current unit of the thread
+        u1.exit();
+        assertSame(u2, scope.getCurrentUnit());
+
+        u2.exit();
+        assertNull(scope.getCurrentUnit());
+    }
+
+    @Test
+    public void exit_OuterBeforeNested() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+
+        UnitOfWork outer = scope.enter();
+        UnitOfWork inner = scope.enter();
+
+        // the nested unit stays current
+        outer.exit();
+        assertSame(inner, scope.getCurrentUnit());
+
+        // the exited outer unit is not restored
+        inner.exit();
+        assertNull(scope.getCurrentUnit());
+    }
+
+    @Test
+    public void exit_BeforeScopeEndForAllObjectsFirst() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        List<String> events = new ArrayList<>();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> {
+                    b.bind(LoggingListener1.class).toProviderInstance(() -> new LoggingListener1(events)).in(scope);
+                    b.bind(LoggingListener2.class).toProviderInstance(() -> new LoggingListener2(events)).in(scope);
+                })
+                .build();
+
+        try (UnitOfWork ignored = scope.enter()) {
+            injector.getInstance(LoggingListener1.class);
+            injector.getInstance(LoggingListener2.class);
+        }
+
+        assertEquals(List.of("before:1", "before:2", "after:1", "after:2"), events);
+    }
+
+    @Test
+    public void create_CircularDependencyBetweenThreads() throws Exception {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicReference<Injector> injectorRef = new AtomicReference<>();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> {
+                    b.bind(CycleA.class).toProviderInstance(() -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return new CycleA(injectorRef.get().getInstance(CycleB.class));
+                    }).in(scope);
+                    b.bind(CycleB.class).toProviderInstance(() -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return new CycleB(injectorRef.get().getInstance(CycleA.class));
+                    }).in(scope);
+                })
+                .build();
+        injectorRef.set(injector);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (UnitOfWork unit = scope.enter()) {
+            Future<CycleA> a = executor.submit(() -> unit.call(() -> injector.getInstance(CycleA.class)));
+            Future<CycleB> b = executor.submit(() -> unit.call(() -> injector.getInstance(CycleB.class)));
+
+            // the threads must not deadlock, and the cycle must be reported
+            ExecutionException e = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DIRuntimeException.class, e.getCause());
+            e = assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DIRuntimeException.class, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void exit_AfterScopeEnd() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(AfterListener.class).in(scope))
+                .build();
+
+        AfterListener l1;
+        try (UnitOfWork ignored = scope.enter()) {
+            l1 = injector.getInstance(AfterListener.class);
+        }
+
+        assertEquals(List.of("before", "after"), l1.events);
+    }
+
+    @Test
+    public void call_OnOtherThread() throws Exception {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).to(MockImplementation1.class).in(scope))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (UnitOfWork unit = scope.enter()) {
+            MockInterface1 i1 = injector.getInstance(MockInterface1.class);
+
+            List<MockInterface1> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> unit.call(() -> injector.getInstance(MockInterface1.class))).get());
+            }
+
+            for (MockInterface1 result : results) {
+                assertSame(i1, result);
+            }
+
+            // the unit is not left behind on the pool threads
+            assertNull(executor.submit(scope::getCurrentUnit).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void create_SlowProviderDoesNotBlockOtherKeys() throws Exception {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        CountDownLatch otherCreated = new CountDownLatch(1);
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> {
+                    b.bind(Slow.class).toProviderInstance(() -> new Slow(await(otherCreated))).in(scope);
+                    b.bind(MockInterface1.class).to(MockImplementation1.class).in(scope);
+                })
+                .build();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (UnitOfWork unit = scope.enter()) {
+            Future<Slow> slow = executor.submit(() -> unit.call(() -> injector.getInstance(Slow.class)));
+
+            // creating another key while the slow one is in progress
+            assertNotNull(injector.getInstance(MockInterface1.class));
+            otherCreated.countDown();
+
+            assertTrue(slow.get(5, TimeUnit.SECONDS).otherCreated);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void create_OncePerUnitUnderContention() throws Exception {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).toProviderInstance(() -> {
+                    counter.incrementAndGet();
+                    started.countDown();
+                    sleep();
+                    return new MockImplementation1();
+                }).in(scope))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (UnitOfWork unit = scope.enter()) {
+            List<Future<MockInterface1>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> unit.call(() -> injector.getInstance(MockInterface1.class))));
+            }
+
+            MockInterface1 i1 = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<MockInterface1> f : futures) {
+                assertSame(i1, f.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, counter.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void create_RetryAfterFailure() {
+        UnitOfWorkScope scope = new UnitOfWorkScope();
+        AtomicInteger counter = new AtomicInteger();
+        Injector injector = DIBootstrap
+                .injectorBuilder(b -> b.bind(MockInterface1.class).toProviderInstance(() -> {
+                    if (counter.incrementAndGet() == 1) {
+                        throw new IllegalStateException("first call fails");
+                    }
+                    return new MockImplementation1();
+                }).in(scope))
+                .build();
+
+        try (UnitOfWork ignored = scope.enter()) {
+            assertThrows(DIRuntimeException.class, () -> injector.getInstance(MockInterface1.class));
+            assertNotNull(injector.getInstance(MockInterface1.class));
+            assertEquals(2, counter.get());
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class Slow {
+
+        final boolean otherCreated;
+
+        Slow(boolean otherCreated) {
+            this.otherCreated = otherCreated;
+        }
+    }
+
+    public static class CycleA {
+
+        CycleA(CycleB b) {
+        }
+    }
+
+    public static class CycleB {
+
+        CycleB(CycleA a) {
+        }
+    }
+
+    public static class LoggingListener1 {
+
+        final List<String> events;
+
+        LoggingListener1(List<String> events) {
+            this.events = events;
+        }
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            events.add("before:1");
+        }
+
+        @AfterScopeEnd
+        public void afterScopeEnd() {
+            events.add("after:1");
+        }
+    }
+
+    public static class LoggingListener2 {
+
+        final List<String> events;
+
+        LoggingListener2(List<String> events) {
+            this.events = events;
+        }
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            events.add("before:2");
+        }
+
+        @AfterScopeEnd
+        public void afterScopeEnd() {
+            events.add("after:2");
+        }
+    }
+
+    public static class AfterListener {
+
+        final List<String> events = new ArrayList<>();
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            events.add("before");
+        }
+
+        @AfterScopeEnd
+        public void afterScopeEnd() {
+            events.add("after");
+        }
+    }
+
+    public static class Listener {
+
+        int calls;
+
+        @BeforeScopeEnd
+        public void beforeScopeEnd() {
+            calls++;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.di.spi;
+
+import io.bootique.di.Key;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void isCurrentThreadVirtual_PlatformThread() {
+        // on pre-21 JVMs this goes through the fallback of the failed "Thread.isVirtual" lookup
+        assertFalse(VirtualThreads.isCurrentThreadVirtual());
+    }
+
+    @Test
+    public void stateKept_PlatformThread() throws Exception {
+        InjectionStack stack = new InjectionStack();
+        InjectionTrace trace = new InjectionTrace();
+
+        assertTrue(stateAfterResolution(stack, trace));
+    }
+
+    @Test
+    public void stateReleased_VirtualThread() throws Exception {
+        Method startVirtualThread = startVirtualThreadMethod();
+        assumeTrue(startVirtualThread != null, "Virtual threads are not supported by this JVM");
+
+        InjectionStack stack = new InjectionStack();
+        InjectionTrace trace = new InjectionTrace();
+
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+        AtomicReference<Object> result = new AtomicReference<>();
+
+        Runnable r = () -> {
+            virtual.set(VirtualThreads.isCurrentThreadVirtual());
+            try {
+                result.set(stateAfterResolution(stack, trace));
+            } catch (Throwable th) {
+                result.set(th);
+            }
+        };
+
+        Thread t = (Thread) startVirtualThread.invoke(null, r);
+        t.join();
+
+        assertTrue(virtual.get());
+        assertEquals(Boolean.FALSE, result.get());
+    }
+
+    // returns whether the per-thread state survived a resolution
+    private static boolean stateAfterResolution(InjectionStack stack, InjectionTrace trace) throws Exception {
+        Key<String> key = Key.get(String.class);
+
+        stack.push(key);
+        trace.push(key);
+        Object stackFrames = currentFrames(stack);
+        Object traceFrames = currentFrames(trace);
+
+        trace.pop();
+        stack.pop();
+
+        // released ThreadLocals would create new frames on access
+        boolean stackKept = stackFrames == currentFrames(stack);
+        boolean traceKept = traceFrames == currentFrames(trace);
+        assertEquals(stackKept, traceKept);
+        return stackKept;
+    }
+
+    private static Object currentFrames(Object stateHolder) throws Exception {
+        Field f = stateHolder.getClass().getDeclaredField("stack");
+        f.setAccessible(true);
+        return ((ThreadLocal<?>) f.get(stateHolder)).get();
+    }
+
+    private static Method startVirtualThreadMethod() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}